@@ -1,13 +1,30 @@
 package collidascope;
 
+import collidascope.collidadetecta.Contact;
+import collidascope.collidadetecta.ContactPool;
+import collidascope.collidadetecta.DetectionCache;
 import collidascope.collidadetecta.Detector;
+import collidascope.collidadetecta.IContactDetector;
+import collidascope.collidafinda.IBroadPhase;
+import collidascope.collidafinda.IPairConsumer;
+import collidascope.collidafinda.SpatialGrid;
 import collidascope.collidahandla.Handler;
+import collidascope.collidahandla.IContactHandler;
 import collidascope.collidatracka.Tracker;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /**
  * This class provides a flexible interface for collision detection,
@@ -18,6 +35,14 @@ import java.util.function.BiFunction;
  *         Created on 5/22/2015.
  */
 public class Collider {
+    /**
+     * The fewest candidate pairs given to a detection task when pipelined.
+     */
+    private static final int MIN_PAIRS_PER_TASK = 64;
+    /**
+     * The cell size of the default broad phase.
+     */
+    public static final double DEFAULT_CELL_SIZE = 64;
     /**
      * The collision detector.
      */
@@ -30,6 +55,71 @@ public class Collider {
      * The collision tracker.
      */
     private Tracker tracker;
+    /**
+     * The pool of contact manifolds given to tracked collisions.
+     */
+    private ContactPool contacts;
+    /**
+     * The contact each thread detects into before a collision is tracked.
+     */
+    private ThreadLocal<Contact> scratchContact;
+    /**
+     * The colliders registered with the collider.
+     */
+    private ColliderRegistry registry;
+    /**
+     * The broad phase finding the candidate pairs of registered colliders.
+     */
+    private IBroadPhase broadPhase;
+    /**
+     * The collision keys whose functions have been added on registration.
+     */
+    private Set<String> registeredKeys;
+    /**
+     * Detects and tracks the collisions of a candidate pair in both
+     * directions; kept so the search does not allocate.
+     */
+    private IPairConsumer pairDetector;
+    /**
+     * The executor running the detection in pipelined mode; null when
+     * the collider steps sequentially.
+     */
+    private Executor executor;
+    /**
+     * The back buffers the detection tasks track the next frame's
+     * collisions in, one per task.
+     */
+    private Tracker[] backTrackers;
+    /**
+     * The candidate pairs of the frame being detected, as handle pairs.
+     */
+    private int[] pairs;
+    /**
+     * The number of handles in @see pairs.
+     */
+    private int pairCount;
+    /**
+     * Collects the candidate pairs; kept so the search does not allocate.
+     */
+    private IPairConsumer pairCollector;
+    /**
+     * Are detection tasks running?
+     */
+    private boolean detecting;
+    /**
+     * The colliders registered while detection tasks ran whose functions
+     * are added once they finish.
+     */
+    private List<ICollider> pendingFunctions;
+    /**
+     * The colliders removed at the safe point whose cached results are
+     * evicted; only collected while memoization is enabled.
+     */
+    private Set<ICollider> removedColliders;
+    /**
+     * Collects the removed colliders into @see removedColliders.
+     */
+    private Consumer<ICollider> removedCollector;
 
     /**
      * Construct the collider with keys and functions for the detection and
@@ -65,19 +155,351 @@ public class Collider {
         detector = new Detector();
         handler = new Handler();
         tracker = new Tracker();
+        contacts = new ContactPool();
+        scratchContact = ThreadLocal.withInitial(Contact::new);
+        registry = new ColliderRegistry();
+        broadPhase = new SpatialGrid(DEFAULT_CELL_SIZE);
+        registeredKeys = new HashSet<>();
+        pairDetector = (a, b) -> {
+            ICollider one = registry.get(a);
+            ICollider theOther = registry.get(b);
+            detectCollisions(one, theOther, Collision.DEFAULT_PRIORITY);
+            detectCollisions(theOther, one, Collision.DEFAULT_PRIORITY);
+        };
+        pendingFunctions = new ArrayList<>();
+        removedColliders = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedCollector = collider -> {
+            if (detector.getCache() != null)
+                removedColliders.add(collider);
+        };
+        pairs = new int[64];
+        pairCollector = (a, b) -> {
+            if (pairCount == pairs.length)
+                pairs = Arrays.copyOf(pairs, 2 * pairCount);
+            pairs[pairCount++] = a;
+            pairs[pairCount++] = b;
+        };
     }
 
     /**
      * Provides a one-way collision detection between two
      * colliders. It tries to find the detection algorithm
-     * in the map based on @see getCollisionString.
+     * in the map based on @see getCollisionString, choosing it as
+     * @see Collider#detectCollisions(ICollider, ICollider, int) does so
+     * both agree.
      * @param a The first collider.
      * @param b The second collider.
      * @return Did they collide?
      */
     public boolean detectedCollision(ICollider a, ICollider b) {
+        if (isCompound(a) || isCompound(b)) {
+            if (!boundsOverlap(a, b))
+                return false;
+            if (isCompound(a))
+                return ((ICompoundCollider) a).getParts().stream()
+                  .anyMatch(part -> detectedCollision(part, b));
+            return ((ICompoundCollider) b).getParts().stream()
+              .anyMatch(part -> detectedCollision(a, part));
+        }
         String key = getCollisionString(a, b);
-        return detector.detectCollision(a, b, key);
+        Contact scratch = scratchContact.get();
+        scratch.reset();
+        return detector.detectCollision(a, b, key, scratch);
+    }
+
+    /**
+     * Detects and tracks the collisions between two colliders. Compound
+     * colliders are descended into only when their bounding shapes
+     * overlap and a collision is tracked for each pair of parts which
+     * collide, so the handlers are given the specific parts. Each tracked
+     * collision is given a pooled contact manifold; the pool is only used
+     * for collisions, not for every pair tested.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param priority The priority of the tracked collisions.
+     * @return The number of collisions tracked.
+     */
+    public int detectCollisions(ICollider a, ICollider b, int priority) {
+        return detectCollisions(a, b, priority, tracker);
+    }
+
+    /**
+     * Detects the collisions between two colliders and tracks them in the
+     * given tracker. @see Collider#detectCollisions(ICollider, ICollider, int)
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param priority The priority of the tracked collisions.
+     * @param target The tracker to track the collisions in.
+     * @return The number of collisions tracked.
+     */
+    private int detectCollisions(ICollider a, ICollider b, int priority, Tracker target) {
+        if (isCompound(a) || isCompound(b)) {
+            if (!boundsOverlap(a, b))
+                return 0;
+            int count = 0;
+            if (isCompound(a)) {
+                for (ICollider part : ((ICompoundCollider) a).getParts())
+                    count += detectCollisions(part, b, priority, target);
+            } else {
+                for (ICollider part : ((ICompoundCollider) b).getParts())
+                    count += detectCollisions(a, part, priority, target);
+            }
+            return count;
+        }
+        // Detect into the thread's scratch contact so misses never touch
+        // the shared pool.
+        Contact scratch = scratchContact.get();
+        scratch.reset();
+        if (!detector.detectCollision(a, b, getCollisionString(a, b), scratch))
+            return 0;
+        Contact contact = contacts.acquire();
+        contact.set(scratch);
+        if (!target.track(new Collision(a, b, priority, contact))) {
+            contacts.release(contact);
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * Registers the collider so its collisions are found by
+     * @see Collider#detectCollisions(). The detection and handler
+     * functions of the collider, and of its parts when it is compound, are
+     * added the first time each collision key is registered; colliders
+     * sharing a key are expected to share functions. The collider joins
+     * the broad phase at the next safe point.
+     * @param collider The collider.
+     * @return The handle used to unregister the collider.
+     */
+    public int register(ICollider collider) {
+        registerFunctions(collider);
+        return registry.register(collider);
+    }
+
+    /**
+     * Adds the functions of the collider, and of the parts of a compound
+     * collider, for each collision key not yet registered. The parts are
+     * detected and handled by their own keys.
+     * @param collider The collider.
+     */
+    private void registerFunctions(ICollider collider) {
+        if (registeredKeys.add(collider.getCollisionKey())) {
+            // The functions are read by the detection tasks while they run.
+            if (detecting)
+                pendingFunctions.add(collider);
+            else
+                addFunctions(collider);
+        }
+        if (isCompound(collider))
+            for (ICollider part : ((ICompoundCollider) collider).getParts())
+                registerFunctions(part);
+    }
+
+    /**
+     * Adds the detection and handler functions of the collider.
+     * @param collider The collider.
+     */
+    private void addFunctions(ICollider collider) {
+        addDetectors(collider.getDetectors());
+        addHandlers(collider.getHandlers());
+    }
+
+    /**
+     * Unregisters the collider with the handle. The collider leaves the
+     * broad phase at the next safe point; the handle is then stale and is
+     * rejected even after its slot is reused.
+     * @param handle The handle given on registration.
+     */
+    public void unregister(int handle) {
+        registry.unregister(handle);
+    }
+
+    /**
+     * Returns the number of registered colliders.
+     * @return The number of colliders.
+     */
+    public int getColliderCount() {
+        return registry.size();
+    }
+
+    /**
+     * Replaces the broad phase used for the registered colliders. The
+     * colliders are added to the new broad phase immediately.
+     * @param broadPhase The broad phase.
+     */
+    public void setBroadPhase(IBroadPhase broadPhase) {
+        applyPending();
+        registry.addAllTo(broadPhase);
+        this.broadPhase = broadPhase;
+    }
+
+    /**
+     * Returns the broad phase used for the registered colliders.
+     * @return The broad phase.
+     */
+    public IBroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Applies the queued registrations and removals to the broad phase and
+     * evicts the removed colliders' cached detection results.
+     */
+    private void applyPending() {
+        registry.applyPending(broadPhase, removedCollector);
+        DetectionCache cache = detector.getCache();
+        if (cache != null && !removedColliders.isEmpty())
+            cache.evict(removedColliders);
+        removedColliders.clear();
+    }
+
+    /**
+     * Detects and tracks the collisions among the registered colliders.
+     * This is the safe point at which queued registrations and removals
+     * are applied; then the changed bounds are given to the broad phase
+     * and each candidate pair it finds is detected in both directions
+     * with the default priority. Symmetric detectors, such as
+     * @see collidascope.collidadetecta.ShapeDetector, therefore run twice
+     * per pair; memoization does not share results between the two
+     * directions.
+     */
+    public void detectCollisions() {
+        applyPending();
+        registry.updateBounds(broadPhase);
+        broadPhase.findPairs(pairDetector);
+    }
+
+    /**
+     * Advances the collider by one tick: the registered colliders'
+     * collisions are detected and the tracked collisions handled.
+     *
+     * When pipelined the detection of the next frame runs on the executor
+     * while the handlers for the current frame, detected on the previous
+     * step, run on the calling thread; the step returns once both are
+     * done. Handlers are therefore given collisions one step late and may
+     * be given colliders unregistered since they were detected. While the
+     * handlers run the detectors read the colliders concurrently, so the
+     * handlers must not change bounding shapes or detection functions;
+     * changes should be recorded and applied after the step, for example
+     * in the next update. Registering and unregistering remain safe: the
+     * detection tasks read a snapshot of the registry's slots, and the
+     * functions of newly registered collision keys are added after the
+     * tasks finish.
+     */
+    public void step() {
+        if (executor == null) {
+            detectCollisions();
+            handleCollisions();
+            return;
+        }
+        // The broad phase is not thread safe so its pairs are found here.
+        applyPending();
+        registry.updateBounds(broadPhase);
+        pairCount = 0;
+        broadPhase.findPairs(pairCollector);
+
+        // Registering from a handler may grow the slot array while the
+        // tasks read it, so they are given the array the pairs index.
+        ICollider[] slots = registry.slots();
+        int pairsPerTask = Math.max(MIN_PAIRS_PER_TASK, (pairCount / 2 + backTrackers.length - 1) / backTrackers.length);
+        int tasks = Math.min(backTrackers.length, (pairCount / 2 + pairsPerTask - 1) / pairsPerTask);
+        CompletableFuture<?>[] detection = new CompletableFuture<?>[tasks];
+        for (int t = 0; t < tasks; t++) {
+            int from = 2 * t * pairsPerTask;
+            int to = Math.min(pairCount, from + 2 * pairsPerTask);
+            Tracker back = backTrackers[t];
+            detection[t] = CompletableFuture.runAsync(() -> detectPairs(slots, from, to, back), executor);
+        }
+        detecting = tasks > 0;
+        boolean detected = false;
+        try {
+            try {
+                handleCollisions();
+            } finally {
+                try {
+                    CompletableFuture.allOf(detection).join();
+                    detected = true;
+                } finally {
+                    detecting = false;
+                    pendingFunctions.forEach(this::addFunctions);
+                    pendingFunctions.clear();
+                }
+            }
+        } finally {
+            // Swap the buffers: the next frame's collisions become the ones
+            // handled on the next step. A frame whose detection failed is
+            // discarded so it is not merged into a later one.
+            for (int t = 0; t < tasks; t++)
+                drainBackTracker(backTrackers[t], detected);
+        }
+    }
+
+    /**
+     * Empties a detection task's tracker, moving its collisions into the
+     * tracker handled on the next step or discarding them. The contacts of
+     * discarded and duplicate collisions are released.
+     * @param back The task's tracker.
+     * @param keep Are the collisions kept?
+     */
+    private void drainBackTracker(Tracker back, boolean keep) {
+        for (Object o : back) {
+            Collision collision = (Collision) o;
+            if (!keep || !tracker.track(collision))
+                contacts.release(collision.getContact());
+        }
+        back.clear();
+    }
+
+    /**
+     * Pipelines @see Collider#step so the detection of the next frame runs
+     * on the executor, split into at most the given number of tasks, while
+     * the current frame is handled.
+     * @param executor The executor for the detection tasks.
+     * @param parallelism The most detection tasks per step.
+     */
+    public void enablePipelining(Executor executor, int parallelism) {
+        if (executor == null)
+            throw new IllegalArgumentException("executor == null");
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism < 1");
+        this.executor = executor;
+        backTrackers = new Tracker[parallelism];
+        for (int t = 0; t < parallelism; t++)
+            backTrackers[t] = new Tracker();
+    }
+
+    /**
+     * Returns @see Collider#step to detecting and handling each frame in
+     * turn. The collisions detected for the next frame are discarded.
+     */
+    public void disablePipelining() {
+        executor = null;
+        backTrackers = null;
+        clearTracked();
+    }
+
+    /**
+     * Determines if @see Collider#step is pipelined.
+     * @return Is it pipelined?
+     */
+    public boolean isPipelined() {
+        return executor != null;
+    }
+
+    /**
+     * Detects a range of the candidate pairs in both directions.
+     * @param slots The registry's slots when the pairs were found.
+     * @param from The index of the first pair's first handle.
+     * @param to The index after the last pair's second handle.
+     * @param target The tracker to track the collisions in.
+     */
+    private void detectPairs(ICollider[] slots, int from, int to, Tracker target) {
+        for (int i = from; i < to; i += 2) {
+            ICollider one = slots[pairs[i]];
+            ICollider theOther = slots[pairs[i + 1]];
+            detectCollisions(one, theOther, Collision.DEFAULT_PRIORITY, target);
+            detectCollisions(theOther, one, Collision.DEFAULT_PRIORITY, target);
+        }
     }
 
     /**
@@ -99,10 +521,26 @@ public class Collider {
     }
 
     /**
-     * Handles all the collisions which have been tracked.
+     * Handles all the collisions which have been tracked. The handled
+     * collisions are then cleared from the tracker and their contacts
+     * returned to the pool. They are cleared even when a handler throws,
+     * so a frame is never handled twice.
      */
     public void handleCollisions() {
-        handler.handleCollisions(tracker.iterator());
+        try {
+            handler.handleCollisions(tracker.iterator());
+        } finally {
+            clearTracked();
+        }
+    }
+
+    /**
+     * Clears the tracked collisions and returns their contacts to the
+     * pool.
+     */
+    private void clearTracked() {
+        tracker.forEach(collision -> contacts.release(((Collision) collision).getContact()));
+        tracker.clear();
     }
 
     /**
@@ -123,6 +561,15 @@ public class Collider {
         handler.addHandlers(handlers);
     }
 
+    /**
+     * Adds collision handler functionality which is given the contact
+     * manifold of the collision.
+     * @param handlers The contact handler functions.
+     */
+    public void addContactHandlers(Map<String, IContactHandler> handlers) {
+        handler.addContactHandlers(handlers);
+    }
+
     /**
      * Adds collision detector functionality to the collider.
      * @param keys The keys to map to.
@@ -141,6 +588,54 @@ public class Collider {
         detector.addDetectors(detectors);
     }
 
+    /**
+     * Adds collision detector functionality which computes the contact
+     * manifold of the collision.
+     * @param detectors The contact detector functions.
+     */
+    public void addContactDetectors(Map<String, IContactDetector> detectors) {
+        detector.addContactDetectors(detectors);
+    }
+
+    /**
+     * Sets the detection function used for collision keys which have no
+     * function added, for example the built-in
+     * @see collidascope.collidadetecta.ShapeDetector
+     * @param defaultDetector The default detector or null for none.
+     */
+    public void setDefaultDetector(BiFunction<ICollider, ICollider, Boolean> defaultDetector) {
+        detector.setDefaultDetector(defaultDetector);
+    }
+
+    /**
+     * Enables caching the detection results of up to the given number of
+     * collider pairs. A cached result is reused until the bounds version
+     * of either collider changes. @see ICollider#getBoundsVersion
+     * Unregistered colliders' results are evicted at the next safe point.
+     * The cache is guarded by a single lock, so when @see Collider#step is
+     * pipelined the detection tasks contend on it; memoize only detection
+     * functions costly enough to outweigh that.
+     * @param capacity The most pairs to cache.
+     */
+    public void enableMemoization(int capacity) {
+        detector.enableMemoization(capacity);
+    }
+
+    /**
+     * Disables caching the detection results.
+     */
+    public void disableMemoization() {
+        detector.disableMemoization();
+    }
+
+    /**
+     * Returns the cache of detection results with its hit and miss counts.
+     * @return The cache or null when memoization is disabled.
+     */
+    public DetectionCache getDetectionCache() {
+        return detector.getCache();
+    }
+
     /**
      * Ensures the the lists are the same size.
      * @param a The first list.
@@ -151,6 +646,27 @@ public class Collider {
             throw new IllegalArgumentException("keys.size() != values.size()");
     }
 
+    /**
+     * Determines if the collider is made up of parts.
+     * @param collider The collider.
+     * @return Is it compound?
+     */
+    private static boolean isCompound(ICollider collider) {
+        return collider instanceof ICompoundCollider;
+    }
+
+    /**
+     * Tests the bounding rectangles of the colliders for overlap. Used
+     * as the early-out before descending into the parts of a compound.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @return Do the bounds overlap?
+     */
+    private static boolean boundsOverlap(ICollider a, ICollider b) {
+        return a.getBoundingShape().getBounds2D()
+          .intersects(b.getBoundingShape().getBounds2D());
+    }
+
     /**
      * Gets the map key for collision detection and handler functionality.
      * @param a The first collider.
@@ -0,0 +1,338 @@
+package collidascope;
+
+import collidascope.collidafinda.IBroadPhase;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * The colliders registered with a @see Collider, held in a slot array
+ * and identified by compact integer handles. Freed slots are chained in a
+ * first-in first-out free list so registering and unregistering are
+ * constant time, slot indexes stay small enough to index arrays in the
+ * broad phase, and reuse is spread over all the free slots.
+ *
+ * Registering and unregistering only queue the change; the queued
+ * changes are applied to the broad phase together at a safe point in the
+ * tick, @see ColliderRegistry#applyPending, so colliders may be spawned
+ * and despawned from handlers.
+ *
+ * A handle holds the index of the collider's slot in its low 20 bits and
+ * the slot's generation in the 11 bits above. The generation advances each
+ * time the slot is freed, so a stale handle, such as one unregistered
+ * twice, is rejected rather than removing the collider now in its slot.
+ * The generation wraps, so this holds until the slot has been freed 2048
+ * more times; as freed slots are reused oldest first, that takes 2048
+ * frees of every slot free at the time. The broad phase is given only the
+ * slot index.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class ColliderRegistry {
+    /**
+     * The number of low bits of a handle holding the slot index.
+     */
+    private static final int SLOT_BITS = 20;
+    /**
+     * The mask of the slot index in a handle.
+     */
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    /**
+     * The mask of a generation; it keeps handles non-negative.
+     */
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+    /**
+     * The state of an unused slot.
+     */
+    private static final byte FREE = 0;
+    /**
+     * The state of a slot registered but not yet in the broad phase.
+     */
+    private static final byte ADDING = 1;
+    /**
+     * The state of a slot in the broad phase.
+     */
+    private static final byte LIVE = 2;
+    /**
+     * The state of a slot unregistered but still in the broad phase.
+     */
+    private static final byte REMOVING = 3;
+    /**
+     * The state of a slot unregistered before it was in the broad phase.
+     */
+    private static final byte DISCARDING = 4;
+
+    /**
+     * The colliders by slot.
+     */
+    private ICollider[] colliders;
+    /**
+     * The state of each slot.
+     */
+    private byte[] states;
+    /**
+     * The bounds version each collider last had in the broad phase.
+     */
+    private long[] versions;
+    /**
+     * The generation of each slot, advanced each time it is freed.
+     */
+    private int[] generations;
+    /**
+     * The next free slot of each free slot; -1 ends the list.
+     */
+    private int[] nextFree;
+    /**
+     * The first free slot, reused next; -1 when there is none.
+     */
+    private int freeHead;
+    /**
+     * The last free slot; -1 when there is none.
+     */
+    private int freeTail;
+    /**
+     * The number of slots ever used.
+     */
+    private int highWater;
+    /**
+     * The number of registered colliders.
+     */
+    private int count;
+    /**
+     * The slots whose registration or removal is queued.
+     */
+    private int[] pending;
+    /**
+     * The number of queued slots.
+     */
+    private int pendingCount;
+
+    /**
+     * Constructs the registry with no colliders.
+     */
+    public ColliderRegistry() {
+        colliders = new ICollider[16];
+        states = new byte[16];
+        versions = new long[16];
+        generations = new int[16];
+        nextFree = new int[16];
+        freeHead = -1;
+        freeTail = -1;
+        pending = new int[16];
+    }
+
+    /**
+     * Reserves a handle for the collider and queues its addition.
+     * @param collider The collider.
+     * @return The handle.
+     */
+    public int register(ICollider collider) {
+        if (collider == null)
+            throw new IllegalArgumentException("collider == null");
+        int slot;
+        if (freeHead >= 0) {
+            slot = freeHead;
+            freeHead = nextFree[slot];
+            if (freeHead < 0)
+                freeTail = -1;
+        } else {
+            if (highWater > SLOT_MASK)
+                throw new IllegalStateException("too many colliders");
+            if (highWater == colliders.length)
+                grow();
+            slot = highWater++;
+        }
+        colliders[slot] = collider;
+        states[slot] = ADDING;
+        count++;
+        queue(slot);
+        return generations[slot] << SLOT_BITS | slot;
+    }
+
+    /**
+     * Queues the removal of the collider with the handle.
+     * @param handle The handle.
+     */
+    public void unregister(int handle) {
+        if (!contains(handle))
+            throw new IllegalArgumentException("handle is not registered");
+        int slot = handle & SLOT_MASK;
+        states[slot] = states[slot] == ADDING ? DISCARDING : REMOVING;
+        count--;
+        queue(slot);
+    }
+
+    /**
+     * Determines if the handle is of a registered collider which has not
+     * been unregistered.
+     * @param handle The handle.
+     * @return Is it registered?
+     */
+    public boolean contains(int handle) {
+        int slot = handle & SLOT_MASK;
+        return handle >= 0 && slot < highWater
+          && generations[slot] == handle >>> SLOT_BITS
+          && (states[slot] == ADDING || states[slot] == LIVE);
+    }
+
+    /**
+     * Returns the collider in the slot, as given to the broad phase.
+     * @param slot The slot index.
+     * @return The collider or null when the slot is free.
+     */
+    public ICollider get(int slot) {
+        return colliders[slot];
+    }
+
+    /**
+     * Returns the slot array itself, for reading off the calling thread.
+     * Registering may replace the array as it grows but never changes the
+     * slots of the colliders in the broad phase, so a snapshot taken after
+     * @see ColliderRegistry#applyPending stays valid for the pairs found
+     * until the next call.
+     * @return The colliders by slot.
+     */
+    ICollider[] slots() {
+        return colliders;
+    }
+
+    /**
+     * Returns the number of registered colliders.
+     * @return The size.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Applies the queued registrations and removals to the broad phase and
+     * frees the slots of the removed colliders.
+     * @param broadPhase The broad phase.
+     */
+    public void applyPending(IBroadPhase broadPhase) {
+        applyPending(broadPhase, null);
+    }
+
+    /**
+     * Applies the queued registrations and removals to the broad phase and
+     * frees the slots of the removed colliders, giving each removed
+     * collider to the consumer first.
+     * @param broadPhase The broad phase.
+     * @param removed The consumer of the removed colliders or null.
+     */
+    public void applyPending(IBroadPhase broadPhase, Consumer<ICollider> removed) {
+        for (int i = 0; i < pendingCount; i++) {
+            int slot = pending[i];
+            switch (states[slot]) {
+                case ADDING:
+                    addTo(broadPhase, slot);
+                    states[slot] = LIVE;
+                    break;
+                case REMOVING:
+                    broadPhase.remove(slot);
+                    // Fall through to free the slot.
+                case DISCARDING:
+                    if (removed != null)
+                        removed.accept(colliders[slot]);
+                    free(slot);
+                    break;
+                default:
+                    // Already applied; queued again by a later change.
+                    break;
+            }
+        }
+        pendingCount = 0;
+    }
+
+    /**
+     * Updates the broad phase with the bounds of each collider in it whose
+     * bounds version has changed. Unversioned colliders are always
+     * updated.
+     * @param broadPhase The broad phase.
+     */
+    public void updateBounds(IBroadPhase broadPhase) {
+        for (int slot = 0; slot < highWater; slot++) {
+            if (states[slot] != LIVE && states[slot] != REMOVING)
+                continue;
+            long version = colliders[slot].getBoundsVersion();
+            if (version >= 0 && version == versions[slot])
+                continue;
+            versions[slot] = version;
+            Rectangle2D r = bounds(colliders[slot]);
+            broadPhase.update(slot, r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
+        }
+    }
+
+    /**
+     * Adds every collider in the broad phase to another, as when the broad
+     * phase is replaced.
+     * @param broadPhase The broad phase to add to.
+     */
+    public void addAllTo(IBroadPhase broadPhase) {
+        for (int slot = 0; slot < highWater; slot++)
+            if (states[slot] == LIVE || states[slot] == REMOVING)
+                addTo(broadPhase, slot);
+    }
+
+    /**
+     * Adds a collider's current bounds to the broad phase.
+     * @param broadPhase The broad phase.
+     * @param slot The slot index.
+     */
+    private void addTo(IBroadPhase broadPhase, int slot) {
+        versions[slot] = colliders[slot].getBoundsVersion();
+        Rectangle2D r = bounds(colliders[slot]);
+        broadPhase.add(slot, r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
+    }
+
+    /**
+     * Returns the bounding rectangle of the collider, without copying it
+     * when the bounding shape is a rectangle.
+     * @param collider The collider.
+     * @return The bounds.
+     */
+    private static Rectangle2D bounds(ICollider collider) {
+        Shape shape = collider.getBoundingShape();
+        return shape instanceof Rectangle2D ? (Rectangle2D) shape : shape.getBounds2D();
+    }
+
+    /**
+     * Returns the slot to the end of the free list.
+     * @param slot The slot index.
+     */
+    private void free(int slot) {
+        colliders[slot] = null;
+        states[slot] = FREE;
+        generations[slot] = (generations[slot] + 1) & GENERATION_MASK;
+        nextFree[slot] = -1;
+        if (freeTail >= 0)
+            nextFree[freeTail] = slot;
+        else
+            freeHead = slot;
+        freeTail = slot;
+    }
+
+    /**
+     * Queues the slot to be applied at the next safe point.
+     * @param slot The slot index.
+     */
+    private void queue(int slot) {
+        if (pendingCount == pending.length)
+            pending = Arrays.copyOf(pending, 2 * pendingCount);
+        pending[pendingCount++] = slot;
+    }
+
+    /**
+     * Doubles the capacity of the slot array.
+     */
+    private void grow() {
+        int length = 2 * colliders.length;
+        colliders = Arrays.copyOf(colliders, length);
+        states = Arrays.copyOf(states, length);
+        versions = Arrays.copyOf(versions, length);
+        generations = Arrays.copyOf(generations, length);
+        nextFree = Arrays.copyOf(nextFree, length);
+    }
+}
@@ -1,11 +1,17 @@
 package collidascope;
 
+import collidascope.collidadetecta.Contact;
+
 /**
  * A representation of a prioritized collision between two objects.
  * @author Robert Wilk
  *         Created on 5/22/2015.
  */
 public class Collision {
+    /**
+     * The priority of a collision when none is given.
+     */
+    public static final int DEFAULT_PRIORITY = 5;
     /**
      * "one" of the colliders in the collision.
      */
@@ -20,7 +26,12 @@ public class Collision {
      * priority has no impact on the order in which the collision is
      * handled as all collision's priorities will be equal.
      */
-    private int priority = 5;
+    private int priority = DEFAULT_PRIORITY;
+    /**
+     * The contact manifold of the collision; null when it was not
+     * detected with one.
+     */
+    private Contact contact;
 
     /**
      * Construct the collision with the colliders and a given priority.
@@ -33,6 +44,19 @@ public class Collision {
         this.priority = priority;
     }
 
+    /**
+     * Construct the collision with the colliders, a given priority, and the
+     * contact manifold computed by the detector.
+     * @param a "one" of the colliders in the collision
+     * @param b The "other" one in the collision.
+     * @param priority The priority of the collision.
+     * @param contact The contact manifold.
+     */
+    public Collision(ICollider a, ICollider b, int priority, Contact contact) {
+        this(a, b, priority);
+        this.contact = contact;
+    }
+
     /**
      * Returns the integer value used to determine the ordering the
      * collision should be handled.
@@ -68,6 +92,16 @@ public class Collision {
         return (one == a) ? b : a;
     }
 
+    /**
+     * Gets the contact manifold, with the normal from "one" of the
+     * colliders to the "other". It is returned to the pool once the
+     * collision is handled.
+     * @return The contact or null when there is none.
+     */
+    public Contact getContact() {
+        return contact;
+    }
+
     /**
      * Returns the collision key generated from the concatenation
      * of "one" of the colliders with the "other"'s.
@@ -76,4 +110,23 @@ public class Collision {
     public String getCollisionKey() {
         return Collider.getCollisionString(a, b);
     }
+
+    /**
+     * Collisions are equal when they are between the same colliders in
+     * the same direction, so the tracker may disregard duplicates.
+     * @param o The other object.
+     * @return Are they the same collision?
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Collision))
+            return false;
+        Collision that = (Collision) o;
+        return a == that.a && b == that.b;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(a) + System.identityHashCode(b);
+    }
 }
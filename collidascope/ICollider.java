@@ -26,6 +26,17 @@ public interface ICollider {
      */
     public Shape getBoundingShape();
 
+    /**
+     * Returns the version of the bounding shape. The version must change
+     * whenever the bounding shape does so cached detection results can be
+     * reused while it stays the same. A negative version means the bounds
+     * are not versioned and the results are never cached.
+     * @return The bounds version.
+     */
+    public default long getBoundsVersion() {
+        return -1;
+    }
+
     /**
      * Returns the handler functions for the collider.
      * @return The handlers.
@@ -0,0 +1,26 @@
+package collidascope;
+
+import java.util.List;
+
+/**
+ * Interface for colliders made up of several parts, such as a ship
+ * with turrets. The compound's bounding shape encloses all of its
+ * parts and is tested first; the parts are only tested when the
+ * bounding shapes overlap. Parts may themselves be compound.
+ *
+ * The parts carry their own collision keys so the detection and
+ * handler functionality is selected for, and given, the specific
+ * part involved in the collision.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public interface ICompoundCollider
+extends ICollider {
+
+    /**
+     * Returns the parts of the compound collider. The bounding shape
+     * of the compound must contain the bounding shapes of its parts.
+     * @return The parts.
+     */
+    public List<ICollider> getParts();
+}
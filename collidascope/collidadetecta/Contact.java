@@ -0,0 +1,151 @@
+package collidascope.collidadetecta;
+
+/**
+ * The contact manifold of a collision: the normal, the penetration depth,
+ * and up to two contact points. The normal is a unit vector pointing from
+ * "one" of the colliders to the "other"; moving the other along it by the
+ * depth separates them. Contacts are reused through @see ContactPool so a
+ * handler must not keep one after it returns.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class Contact {
+    /**
+     * The most contact points a manifold holds.
+     */
+    public static final int MAX_POINTS = 2;
+    /**
+     * The x component of the normal.
+     */
+    private double normalX;
+    /**
+     * The y component of the normal.
+     */
+    private double normalY;
+    /**
+     * The penetration depth along the normal.
+     */
+    private double depth;
+    /**
+     * The interleaved coordinates of the contact points.
+     */
+    private final double[] points = new double[2 * MAX_POINTS];
+    /**
+     * The number of contact points.
+     */
+    private int pointCount;
+
+    /**
+     * Empties the contact so it can be reused.
+     */
+    public void reset() {
+        normalX = normalY = depth = 0;
+        pointCount = 0;
+    }
+
+    /**
+     * Copies another contact into this one.
+     * @param contact The contact copied.
+     */
+    public void set(Contact contact) {
+        normalX = contact.normalX;
+        normalY = contact.normalY;
+        depth = contact.depth;
+        System.arraycopy(contact.points, 0, points, 0, 2 * contact.pointCount);
+        pointCount = contact.pointCount;
+    }
+
+    /**
+     * Sets the normal and penetration depth.
+     * @param normalX The x component of the unit normal.
+     * @param normalY The y component of the unit normal.
+     * @param depth The penetration depth.
+     */
+    public void setNormal(double normalX, double normalY, double depth) {
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.depth = depth;
+    }
+
+    /**
+     * Adds a contact point. Points beyond @see MAX_POINTS are disregarded.
+     * @param x The x of the point.
+     * @param y The y of the point.
+     */
+    public void addPoint(double x, double y) {
+        if (pointCount == MAX_POINTS)
+            return;
+        points[2 * pointCount] = x;
+        points[2 * pointCount + 1] = y;
+        pointCount++;
+    }
+
+    /**
+     * Reverses the normal for when the colliders are given in the
+     * opposite order.
+     */
+    public void flip() {
+        normalX = -normalX;
+        normalY = -normalY;
+    }
+
+    /**
+     * Determines if a detector computed the geometry of the contact.
+     * Detectors which only report a collision leave it empty.
+     * @return Does it have geometry?
+     */
+    public boolean hasGeometry() { return pointCount > 0; }
+
+    /**
+     * Returns the x component of the normal.
+     * @return The x of the normal.
+     */
+    public double getNormalX() { return normalX; }
+
+    /**
+     * Returns the y component of the normal.
+     * @return The y of the normal.
+     */
+    public double getNormalY() { return normalY; }
+
+    /**
+     * Returns the penetration depth along the normal.
+     * @return The depth.
+     */
+    public double getDepth() { return depth; }
+
+    /**
+     * Returns the number of contact points.
+     * @return The point count.
+     */
+    public int getPointCount() { return pointCount; }
+
+    /**
+     * Returns the x of a contact point.
+     * @param i The index of the point.
+     * @return The x of the point.
+     */
+    public double getPointX(int i) {
+        checkIndex(i);
+        return points[2 * i];
+    }
+
+    /**
+     * Returns the y of a contact point.
+     * @param i The index of the point.
+     * @return The y of the point.
+     */
+    public double getPointY(int i) {
+        checkIndex(i);
+        return points[2 * i + 1];
+    }
+
+    /**
+     * Ensures the index is of a contact point.
+     * @param i The index.
+     */
+    private void checkIndex(int i) {
+        if (i < 0 || i >= pointCount)
+            throw new IndexOutOfBoundsException("i >= getPointCount()");
+    }
+}
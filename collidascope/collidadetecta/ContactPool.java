@@ -0,0 +1,51 @@
+package collidascope.collidadetecta;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A pool of contacts so manifolds are not allocated for each collision.
+ * The pool may be shared by threads.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class ContactPool {
+    /**
+     * The contacts available for reuse.
+     */
+    private Deque<Contact> free;
+
+    /**
+     * Constructs the pool with no contacts; they are created on demand.
+     */
+    public ContactPool() {
+        free = new ArrayDeque<>();
+    }
+
+    /**
+     * Takes an empty contact from the pool, creating one when it is empty.
+     * @return The contact.
+     */
+    public Contact acquire() {
+        Contact contact;
+        synchronized (this) {
+            contact = free.poll();
+        }
+        if (contact == null)
+            return new Contact();
+        contact.reset();
+        return contact;
+    }
+
+    /**
+     * Returns the contact to the pool. Null is disregarded.
+     * @param contact The contact.
+     */
+    public void release(Contact contact) {
+        if (contact == null)
+            return;
+        synchronized (this) {
+            free.push(contact);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package collidascope.collidadetecta;
+
+import collidascope.ICollider;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded cache of detection results keyed by the pair of colliders.
+ * A cached result is only reused while the bounds versions of both
+ * colliders are unchanged, so stationary pairs skip expensive detection
+ * functions. When the cache is full the least recently used pair is
+ * evicted. The cache is guarded by a single lock, which pipelined
+ * detection tasks contend on.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class DetectionCache {
+    /**
+     * The most pairs the cache will hold.
+     */
+    private final int capacity;
+    /**
+     * The cached results in least recently used order.
+     */
+    private Map<Pair, Result> results;
+    /**
+     * The key reused for look ups so a hit does not allocate.
+     */
+    private Pair probe;
+    /**
+     * The number of look ups answered from the cache.
+     */
+    private long hits;
+    /**
+     * The number of look ups which had to be detected.
+     */
+    private long misses;
+
+    /**
+     * Constructs the cache to hold at most the given number of pairs.
+     * @param capacity The capacity.
+     */
+    public DetectionCache(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity < 1");
+        this.capacity = capacity;
+        probe = new Pair(null, null);
+        results = new LinkedHashMap<Pair, Result>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair, Result> eldest) {
+                return size() > DetectionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Determines if the colliders' results may be cached. Colliders with
+     * negative bounds versions are never cached.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @return Can the pair be cached?
+     */
+    public static boolean isCacheable(ICollider a, ICollider b) {
+        return a.getBoundsVersion() >= 0 && b.getBoundsVersion() >= 0;
+    }
+
+    /**
+     * Looks up the result for the pair. The result is only returned when
+     * it was cached for the colliders' current bounds versions.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @return The cached result or null when there is none.
+     */
+    public synchronized Boolean get(ICollider a, ICollider b) {
+        probe.a = a;
+        probe.b = b;
+        Result result = results.get(probe);
+        probe.a = probe.b = null;
+        if (result == null
+          || result.versionA != a.getBoundsVersion()
+          || result.versionB != b.getBoundsVersion()) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return result.collided;
+    }
+
+    /**
+     * Caches the result for the pair at their current bounds versions.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param collided Did they collide?
+     */
+    public synchronized void put(ICollider a, ICollider b, boolean collided) {
+        probe.a = a;
+        probe.b = b;
+        Result result = results.get(probe);
+        probe.a = probe.b = null;
+        if (result == null) {
+            result = new Result();
+            results.put(new Pair(a, b), result);
+        }
+        result.versionA = a.getBoundsVersion();
+        result.versionB = b.getBoundsVersion();
+        result.collided = collided;
+    }
+
+    /**
+     * Removes the cached results of every pair with one of the colliders,
+     * as when they are unregistered, so the cache does not keep them
+     * reachable.
+     * @param colliders The colliders, compared by identity.
+     */
+    public synchronized void evict(Set<ICollider> colliders) {
+        results.keySet().removeIf(pair -> colliders.contains(pair.a) || colliders.contains(pair.b));
+    }
+
+    /**
+     * Removes all the cached results. The counters are kept.
+     */
+    public synchronized void clear() {
+        results.clear();
+    }
+
+    /**
+     * Returns the number of look ups answered from the cache.
+     * @return The hits.
+     */
+    public synchronized long getHits() { return hits; }
+
+    /**
+     * Returns the number of look ups which had to be detected.
+     * @return The misses.
+     */
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * Returns the number of pairs currently cached.
+     * @return The size.
+     */
+    public synchronized int size() { return results.size(); }
+
+    /**
+     * An ordered pair of colliders compared by identity.
+     */
+    private static class Pair {
+        private ICollider a;
+        private ICollider b;
+
+        private Pair(ICollider a, ICollider b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Pair))
+                return false;
+            Pair that = (Pair) o;
+            return a == that.a && b == that.b;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(a) + System.identityHashCode(b);
+        }
+    }
+
+    /**
+     * A detection result and the bounds versions it was detected at.
+     */
+    private static class Result {
+        private long versionA;
+        private long versionB;
+        private boolean collided;
+    }
+}
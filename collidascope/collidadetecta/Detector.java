@@ -20,6 +20,18 @@ public class Detector {
      * Map of collision detection functions.
      */
     private Map<String, BiFunction<ICollider, ICollider, Boolean>> detectors;
+    /**
+     * Map of detection functions which compute contact manifolds.
+     */
+    private Map<String, IContactDetector> contactDetectors;
+    /**
+     * The detection function used for keys without one; null for none.
+     */
+    private BiFunction<ICollider, ICollider, Boolean> defaultDetector;
+    /**
+     * The optional cache of detection results; null when disabled.
+     */
+    private DetectionCache cache;
 
     /**
      * Constructs the detector with an empty container for client
@@ -27,6 +39,7 @@ public class Detector {
      */
     public Detector() {
         detectors = new HashMap<>();
+        contactDetectors = new HashMap<>();
     }
 
     /**
@@ -37,6 +50,7 @@ public class Detector {
     public void addDetectors(List<String> keys, List<BiFunction<ICollider, ICollider, Boolean>> detectors) {
         IntStream.range(0, keys.size())
           .forEach(i -> this.detectors.put(keys.get(i), detectors.get(i)));
+        clearCache();
     }
 
     /**
@@ -45,21 +59,106 @@ public class Detector {
      */
     public void addDetectors(Map<String, BiFunction<ICollider, ICollider, Boolean>> detectors) {
         this.detectors.putAll(detectors);
+        clearCache();
+    }
+
+    /**
+     * Adds the mapped contact detector functions to the Detector. A
+     * contact detector takes precedence over a detector of the same key
+     * when the contact is wanted.
+     * @param detectors The contact detectors.
+     */
+    public void addContactDetectors(Map<String, IContactDetector> detectors) {
+        contactDetectors.putAll(detectors);
+    }
+
+    /**
+     * Sets the detection function used for collision keys which have no
+     * function mapped, such as the built-in @see ShapeDetector.
+     * @param defaultDetector The default detector or null for none.
+     */
+    public void setDefaultDetector(BiFunction<ICollider, ICollider, Boolean> defaultDetector) {
+        this.defaultDetector = defaultDetector;
+        clearCache();
+    }
+
+    /**
+     * Enables caching the detection results of up to the given number of
+     * collider pairs. Cached results are reused until either collider's
+     * bounds version changes.
+     * @param capacity The most pairs to cache.
+     */
+    public void enableMemoization(int capacity) {
+        cache = new DetectionCache(capacity);
+    }
+
+    /**
+     * Disables caching the detection results.
+     */
+    public void disableMemoization() {
+        cache = null;
+    }
+
+    /**
+     * Returns the cache of detection results.
+     * @return The cache or null when memoization is disabled.
+     */
+    public DetectionCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Clears the cached results, if any, as the functions which produced
+     * them may have been replaced.
+     */
+    private void clearCache() {
+        if (cache != null)
+            cache.clear();
     }
 
     /**
      * Provides a one-way collision detection between two
      * colliders. It tries to find the detection algorithm
-     * in the map based on @see getCollisionString.
+     * in the map based on @see getCollisionString and falls
+     * back to the default detector, if any.
      * @param a The first collider.
      * @param b The second collider.
      * @param key The key to the detection function.
      * @return Did they collide?
      */
     public boolean detectCollision(ICollider a, ICollider b, String key) {
-        BiFunction<ICollider, ICollider, Boolean> d = detectors.get(key);
+        BiFunction<ICollider, ICollider, Boolean> d = detectors.getOrDefault(key, defaultDetector);
         if (d == null)
             return false;
-        return d.apply(a, b);
+        DetectionCache c = cache;
+        if (c == null || !DetectionCache.isCacheable(a, b))
+            return d.apply(a, b);
+        Boolean cached = c.get(a, b);
+        if (cached != null)
+            return cached;
+        boolean collided = d.apply(a, b);
+        c.put(a, b, collided);
+        return collided;
+    }
+
+    /**
+     * Provides a one-way collision detection between two colliders and
+     * computes the contact manifold when possible. The contact detector
+     * mapped to the key is preferred, then the default detector when it
+     * computes contacts, and then the plain detectors, which leave the
+     * contact empty. Contact detection is not cached.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param key The key to the detection function.
+     * @param contact The empty contact to write to.
+     * @return Did they collide?
+     */
+    public boolean detectCollision(ICollider a, ICollider b, String key, Contact contact) {
+        IContactDetector d = contactDetectors.get(key);
+        if (d == null && !detectors.containsKey(key) && defaultDetector instanceof IContactDetector)
+            d = (IContactDetector) defaultDetector;
+        if (d == null)
+            return detectCollision(a, b, key);
+        return d.detect(a, b, contact);
     }
 }
@@ -0,0 +1,23 @@
+package collidascope.collidadetecta;
+
+import collidascope.ICollider;
+
+/**
+ * Interface for detection functions which also compute the contact
+ * manifold of the collision so handlers need not recompute the overlap.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+@FunctionalInterface
+public interface IContactDetector {
+
+    /**
+     * Detects a collision between two colliders and, when they collide,
+     * writes the manifold into the contact.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param contact The empty contact to write to.
+     * @return Did they collide?
+     */
+    public boolean detect(ICollider a, ICollider b, Contact contact);
+}
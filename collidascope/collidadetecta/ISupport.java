@@ -0,0 +1,19 @@
+package collidascope.collidadetecta;
+
+/**
+ * Interface for convex shapes described by their support function, the
+ * point of the shape furthest in a given direction. Used by the GJK
+ * detection in @see NarrowPhase#gjk for general convex shapes.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public interface ISupport {
+
+    /**
+     * Finds the point of the shape furthest in the given direction.
+     * @param dx The x component of the direction.
+     * @param dy The y component of the direction.
+     * @param out The array the x and y of the point are written to.
+     */
+    public void support(double dx, double dy, double[] out);
+}
@@ -0,0 +1,663 @@
+package collidascope.collidadetecta;
+
+/**
+ * Built-in narrow phase detection for the common convex shapes. The
+ * tests work on primitive coordinates and do not allocate so they are
+ * suitable for detection functions invoked for many pairs each tick.
+ * Shapes which only touch are not considered colliding, in keeping with
+ * the java.awt.Shape intersection tests.
+ *
+ * Polygons are given as interleaved coordinates, x0, y0, x1, y1, ...,
+ * and must be convex; either winding is accepted.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public final class NarrowPhase {
+    /**
+     * The most iterations GJK will make before giving up on degenerate
+     * input.
+     */
+    private static final int GJK_MAX_ITERATIONS = 32;
+    /**
+     * Per thread arrays for the support points found by GJK.
+     */
+    private static final ThreadLocal<double[]> SUPPORT =
+      ThreadLocal.withInitial(() -> new double[2]);
+
+    private NarrowPhase() { }
+
+    /**
+     * Detects a collision between two circles.
+     * @param ax The x of the first center.
+     * @param ay The y of the first center.
+     * @param ar The first radius.
+     * @param bx The x of the second center.
+     * @param by The y of the second center.
+     * @param br The second radius.
+     * @return Did they collide?
+     */
+    public static boolean circles(double ax, double ay, double ar,
+                                  double bx, double by, double br) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double r = ar + br;
+        return dx * dx + dy * dy < r * r;
+    }
+
+    /**
+     * Detects a collision between two axis aligned boxes.
+     * @param aMinX The first box's least x.
+     * @param aMinY The first box's least y.
+     * @param aMaxX The first box's greatest x.
+     * @param aMaxY The first box's greatest y.
+     * @param bMinX The second box's least x.
+     * @param bMinY The second box's least y.
+     * @param bMaxX The second box's greatest x.
+     * @param bMaxY The second box's greatest y.
+     * @return Did they collide?
+     */
+    public static boolean aabbs(double aMinX, double aMinY, double aMaxX, double aMaxY,
+                                double bMinX, double bMinY, double bMaxX, double bMaxY) {
+        return aMinX < bMaxX && bMinX < aMaxX && aMinY < bMaxY && bMinY < aMaxY;
+    }
+
+    /**
+     * Detects a collision between a circle and an axis aligned box.
+     * @param cx The x of the circle's center.
+     * @param cy The y of the circle's center.
+     * @param r The circle's radius.
+     * @param minX The box's least x.
+     * @param minY The box's least y.
+     * @param maxX The box's greatest x.
+     * @param maxY The box's greatest y.
+     * @return Did they collide?
+     */
+    public static boolean circleAabb(double cx, double cy, double r,
+                                     double minX, double minY, double maxX, double maxY) {
+        double dx = cx - Math.max(minX, Math.min(cx, maxX));
+        double dy = cy - Math.max(minY, Math.min(cy, maxY));
+        return dx * dx + dy * dy < r * r;
+    }
+
+    /**
+     * Detects a collision between two oriented boxes by testing the
+     * four axes of the boxes for separation.
+     * @param ax The x of the first center.
+     * @param ay The y of the first center.
+     * @param aHalfWidth The first box's half width.
+     * @param aHalfHeight The first box's half height.
+     * @param aAngle The first box's rotation in radians.
+     * @param bx The x of the second center.
+     * @param by The y of the second center.
+     * @param bHalfWidth The second box's half width.
+     * @param bHalfHeight The second box's half height.
+     * @param bAngle The second box's rotation in radians.
+     * @return Did they collide?
+     */
+    public static boolean obbs(double ax, double ay, double aHalfWidth, double aHalfHeight, double aAngle,
+                               double bx, double by, double bHalfWidth, double bHalfHeight, double bAngle) {
+        double aCos = Math.cos(aAngle), aSin = Math.sin(aAngle);
+        double bCos = Math.cos(bAngle), bSin = Math.sin(bAngle);
+        double dx = bx - ax, dy = by - ay;
+        return !obbSeparated(aCos, aSin, dx, dy, aCos, aSin, aHalfWidth, aHalfHeight, bCos, bSin, bHalfWidth, bHalfHeight)
+          && !obbSeparated(-aSin, aCos, dx, dy, aCos, aSin, aHalfWidth, aHalfHeight, bCos, bSin, bHalfWidth, bHalfHeight)
+          && !obbSeparated(bCos, bSin, dx, dy, aCos, aSin, aHalfWidth, aHalfHeight, bCos, bSin, bHalfWidth, bHalfHeight)
+          && !obbSeparated(-bSin, bCos, dx, dy, aCos, aSin, aHalfWidth, aHalfHeight, bCos, bSin, bHalfWidth, bHalfHeight);
+    }
+
+    /**
+     * Tests an axis for separating two oriented boxes.
+     * @return Is the axis separating?
+     */
+    private static boolean obbSeparated(double lx, double ly, double dx, double dy,
+                                        double aCos, double aSin, double aHalfWidth, double aHalfHeight,
+                                        double bCos, double bSin, double bHalfWidth, double bHalfHeight) {
+        double ra = aHalfWidth * Math.abs(aCos * lx + aSin * ly)
+          + aHalfHeight * Math.abs(-aSin * lx + aCos * ly);
+        double rb = bHalfWidth * Math.abs(bCos * lx + bSin * ly)
+          + bHalfHeight * Math.abs(-bSin * lx + bCos * ly);
+        return Math.abs(dx * lx + dy * ly) >= ra + rb;
+    }
+
+    /**
+     * Detects a collision between two convex polygons using the
+     * separating axis theorem.
+     * @param a The first polygon's coordinates.
+     * @param aCount The number of vertices in the first polygon.
+     * @param b The second polygon's coordinates.
+     * @param bCount The number of vertices in the second polygon.
+     * @return Did they collide?
+     */
+    public static boolean polygons(double[] a, int aCount, double[] b, int bCount) {
+        if (aCount < 1 || bCount < 1)
+            return false;
+        return !hasSeparatingEdge(a, aCount, b, bCount) && !hasSeparatingEdge(b, bCount, a, aCount);
+    }
+
+    /**
+     * Tests the edge normals of the first polygon for separating axes.
+     * @return Is there a separating axis?
+     */
+    private static boolean hasSeparatingEdge(double[] a, int aCount, double[] b, int bCount) {
+        for (int i = 0, j = aCount - 1; i < aCount; j = i++) {
+            double nx = a[2 * j + 1] - a[2 * i + 1];
+            double ny = a[2 * i] - a[2 * j];
+            double aMin = Double.POSITIVE_INFINITY, aMax = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < aCount; k++) {
+                double p = a[2 * k] * nx + a[2 * k + 1] * ny;
+                aMin = Math.min(aMin, p);
+                aMax = Math.max(aMax, p);
+            }
+            double bMin = Double.POSITIVE_INFINITY, bMax = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < bCount; k++) {
+                double p = b[2 * k] * nx + b[2 * k + 1] * ny;
+                bMin = Math.min(bMin, p);
+                bMax = Math.max(bMax, p);
+            }
+            if (aMax <= bMin || bMax <= aMin)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Detects a collision between a circle and a convex polygon using the
+     * separating axis theorem. The axes are the polygon's edge normals and
+     * the axis from the nearest vertex to the circle's center.
+     * @param cx The x of the circle's center.
+     * @param cy The y of the circle's center.
+     * @param r The circle's radius.
+     * @param p The polygon's coordinates.
+     * @param count The number of vertices in the polygon.
+     * @return Did they collide?
+     */
+    public static boolean circlePolygon(double cx, double cy, double r, double[] p, int count) {
+        if (count < 1)
+            return false;
+        double nearest = Double.POSITIVE_INFINITY;
+        double vx = 0, vy = 0;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            double dx = p[2 * i] - cx, dy = p[2 * i + 1] - cy;
+            double d = dx * dx + dy * dy;
+            if (d < nearest) {
+                nearest = d;
+                vx = dx;
+                vy = dy;
+            }
+            if (circleSeparated(cx, cy, r, p, count, p[2 * j + 1] - p[2 * i + 1], p[2 * i] - p[2 * j]))
+                return false;
+        }
+        return !circleSeparated(cx, cy, r, p, count, vx, vy);
+    }
+
+    /**
+     * Tests an axis for separating a circle and a polygon.
+     * @return Is the axis separating?
+     */
+    private static boolean circleSeparated(double cx, double cy, double r, double[] p, int count,
+                                           double nx, double ny) {
+        double length = Math.sqrt(nx * nx + ny * ny);
+        if (length == 0)
+            return false;
+        nx /= length;
+        ny /= length;
+        double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < count; k++) {
+            double d = p[2 * k] * nx + p[2 * k + 1] * ny;
+            min = Math.min(min, d);
+            max = Math.max(max, d);
+        }
+        double c = cx * nx + cy * ny;
+        return max <= c - r || c + r <= min;
+    }
+
+    /**
+     * Detects a collision between two general convex shapes using the
+     * Gilbert-Johnson-Keerthi algorithm on their Minkowski difference.
+     * @param a The first shape.
+     * @param b The second shape.
+     * @return Did they collide?
+     */
+    public static boolean gjk(ISupport a, ISupport b) {
+        double[] s = SUPPORT.get();
+        // The simplex is held in locals; a is the newest point.
+        double ax, ay, bx = 0, by = 0, cx = 0, cy = 0;
+        int size = 0;
+        double dx = 1, dy = 0;
+        for (int i = 0; i < GJK_MAX_ITERATIONS; i++) {
+            ax = minkowski(a, b, dx, dy, s);
+            ay = s[1];
+            if (size > 0 && ax * dx + ay * dy <= 0)
+                return false;
+            if (size == 0) {
+                bx = ax;
+                by = ay;
+                size = 1;
+                dx = -ax;
+                dy = -ay;
+            } else if (size == 1) {
+                double abx = bx - ax, aby = by - ay;
+                double aox = -ax, aoy = -ay;
+                // The perpendicular of ab towards the origin.
+                double ab2 = abx * abx + aby * aby, abo = abx * aox + aby * aoy;
+                dx = aox * ab2 - abx * abo;
+                dy = aoy * ab2 - aby * abo;
+                if (dx == 0 && dy == 0)
+                    return abo > 0;
+                cx = bx;
+                cy = by;
+                bx = ax;
+                by = ay;
+                size = 2;
+            } else {
+                double abx = bx - ax, aby = by - ay;
+                double acx = cx - ax, acy = cy - ay;
+                double aox = -ax, aoy = -ay;
+                double acab = acx * abx + acy * aby;
+                double ab2 = abx * abx + aby * aby;
+                double ac2 = acx * acx + acy * acy;
+                double abPerpX = abx * acab - acx * ab2, abPerpY = aby * acab - acy * ab2;
+                double acPerpX = acx * acab - abx * ac2, acPerpY = acy * acab - aby * ac2;
+                if (abPerpX * aox + abPerpY * aoy > 0) {
+                    cx = bx;
+                    cy = by;
+                    dx = abPerpX;
+                    dy = abPerpY;
+                } else if (acPerpX * aox + acPerpY * aoy > 0) {
+                    dx = acPerpX;
+                    dy = acPerpY;
+                } else {
+                    return true;
+                }
+                bx = ax;
+                by = ay;
+            }
+            if (dx == 0 && dy == 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the support point of the Minkowski difference a - b.
+     * @return The x of the point; the y is left in s[1].
+     */
+    private static double minkowski(ISupport a, ISupport b, double dx, double dy, double[] s) {
+        a.support(dx, dy, s);
+        double x = s[0], y = s[1];
+        b.support(-dx, -dy, s);
+        s[1] = y - s[1];
+        return x - s[0];
+    }
+
+    /**
+     * Detects a collision between two circles and computes its contact.
+     * @see NarrowPhase#circles(double, double, double, double, double, double)
+     * @param contact The contact written to when they collide.
+     * @return Did they collide?
+     */
+    public static boolean circles(double ax, double ay, double ar,
+                                  double bx, double by, double br, Contact contact) {
+        if (!circles(ax, ay, ar, bx, by, br))
+            return false;
+        double dx = bx - ax, dy = by - ay;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        double nx = 1, ny = 0;
+        if (distance > 0) {
+            nx = dx / distance;
+            ny = dy / distance;
+        }
+        double depth = ar + br - distance;
+        contact.setNormal(nx, ny, depth);
+        contact.addPoint(ax + nx * (ar - depth / 2), ay + ny * (ar - depth / 2));
+        return true;
+    }
+
+    /**
+     * Detects a collision between two axis aligned boxes and computes its
+     * contact. The normal is along the axis of least overlap and the points
+     * are the ends of the overlapping edge.
+     * @see NarrowPhase#aabbs(double, double, double, double, double, double, double, double)
+     * @param contact The contact written to when they collide.
+     * @return Did they collide?
+     */
+    public static boolean aabbs(double aMinX, double aMinY, double aMaxX, double aMaxY,
+                                double bMinX, double bMinY, double bMaxX, double bMaxY, Contact contact) {
+        if (!aabbs(aMinX, aMinY, aMaxX, aMaxY, bMinX, bMinY, bMaxX, bMaxY))
+            return false;
+        double minX = Math.max(aMinX, bMinX), maxX = Math.min(aMaxX, bMaxX);
+        double minY = Math.max(aMinY, bMinY), maxY = Math.min(aMaxY, bMaxY);
+        // The least distance the second box must move along each axis.
+        double right = aMaxX - bMinX, left = bMaxX - aMinX;
+        double down = aMaxY - bMinY, up = bMaxY - aMinY;
+        double depthX = Math.min(right, left), depthY = Math.min(down, up);
+        if (depthX < depthY) {
+            contact.setNormal(right <= left ? 1 : -1, 0, depthX);
+            double x = (minX + maxX) / 2;
+            contact.addPoint(x, minY);
+            contact.addPoint(x, maxY);
+        } else {
+            contact.setNormal(0, down <= up ? 1 : -1, depthY);
+            double y = (minY + maxY) / 2;
+            contact.addPoint(minX, y);
+            contact.addPoint(maxX, y);
+        }
+        return true;
+    }
+
+    /**
+     * Detects a collision between a circle and an axis aligned box and
+     * computes its contact with the normal from the circle to the box.
+     * @see NarrowPhase#circleAabb(double, double, double, double, double, double, double)
+     * @param contact The contact written to when they collide.
+     * @return Did they collide?
+     */
+    public static boolean circleAabb(double cx, double cy, double r,
+                                     double minX, double minY, double maxX, double maxY, Contact contact) {
+        if (!circleAabb(cx, cy, r, minX, minY, maxX, maxY))
+            return false;
+        double qx = Math.max(minX, Math.min(cx, maxX));
+        double qy = Math.max(minY, Math.min(cy, maxY));
+        double dx = qx - cx, dy = qy - cy;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance > 0) {
+            contact.setNormal(dx / distance, dy / distance, r - distance);
+            contact.addPoint(qx, qy);
+            return true;
+        }
+        // The center is inside the box so the box is left through the
+        // nearest face.
+        double left = cx - minX, right = maxX - cx, top = cy - minY, bottom = maxY - cy;
+        double nearest = Math.min(Math.min(left, right), Math.min(top, bottom));
+        if (nearest == left) {
+            contact.setNormal(1, 0, r + left);
+            contact.addPoint(minX, cy);
+        } else if (nearest == right) {
+            contact.setNormal(-1, 0, r + right);
+            contact.addPoint(maxX, cy);
+        } else if (nearest == top) {
+            contact.setNormal(0, 1, r + top);
+            contact.addPoint(cx, minY);
+        } else {
+            contact.setNormal(0, -1, r + bottom);
+            contact.addPoint(cx, maxY);
+        }
+        return true;
+    }
+
+    /**
+     * Detects a collision between a circle and a convex polygon and
+     * computes its contact with the normal from the circle to the polygon.
+     * @see NarrowPhase#circlePolygon(double, double, double, double[], int)
+     * @param contact The contact written to when they collide.
+     * @return Did they collide?
+     */
+    public static boolean circlePolygon(double cx, double cy, double r, double[] p, int count,
+                                        Contact contact) {
+        if (count < 1)
+            return false;
+        double winding = winding(p, count);
+        int edge = -1;
+        double separation = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            double nx = edgeNormalX(p, count, i, winding), ny = edgeNormalY(p, count, i, winding);
+            // Edges without length have no normal to separate along.
+            if (nx == 0 && ny == 0)
+                continue;
+            double s = nx * (cx - p[2 * i]) + ny * (cy - p[2 * i + 1]);
+            if (s >= r)
+                return false;
+            if (s > separation) {
+                separation = s;
+                edge = i;
+            }
+        }
+        double qx, qy;
+        if (edge < 0) {
+            // A single point is nearest the center.
+            qx = p[0];
+            qy = p[1];
+            return vertexContact(cx, cy, r, qx, qy, contact);
+        }
+        int next = (edge + 1) % count;
+        double x1 = p[2 * edge], y1 = p[2 * edge + 1];
+        double x2 = p[2 * next], y2 = p[2 * next + 1];
+        double nx = edgeNormalX(p, count, edge, winding), ny = edgeNormalY(p, count, edge, winding);
+        if (separation > 0 && (cx - x1) * (x2 - x1) + (cy - y1) * (y2 - y1) <= 0) {
+            qx = x1;
+            qy = y1;
+        } else if (separation > 0 && (cx - x2) * (x1 - x2) + (cy - y2) * (y1 - y2) <= 0) {
+            qx = x2;
+            qy = y2;
+        } else {
+            contact.setNormal(-nx, -ny, r - separation);
+            contact.addPoint(cx - nx * separation, cy - ny * separation);
+            return true;
+        }
+        return vertexContact(cx, cy, r, qx, qy, contact);
+    }
+
+    /**
+     * Detects a collision between a circle and the polygon vertex nearest
+     * its center and computes its contact.
+     * @return Did they collide?
+     */
+    private static boolean vertexContact(double cx, double cy, double r, double qx, double qy,
+                                         Contact contact) {
+        double dx = qx - cx, dy = qy - cy;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance >= r)
+            return false;
+        if (distance > 0)
+            contact.setNormal(dx / distance, dy / distance, r - distance);
+        else
+            contact.setNormal(1, 0, r);
+        contact.addPoint(qx, qy);
+        return true;
+    }
+
+    /**
+     * Detects a collision between two convex polygons and computes its
+     * contact. The edge of least penetration is the reference face and the
+     * most opposed edge of the other polygon is clipped against it to find
+     * up to two contact points.
+     * @see NarrowPhase#polygons(double[], int, double[], int)
+     * @param contact The contact written to when they collide.
+     * @return Did they collide?
+     */
+    public static boolean polygons(double[] a, int aCount, double[] b, int bCount, Contact contact) {
+        if (aCount < 1 || bCount < 1)
+            return false;
+        double aWinding = winding(a, aCount), bWinding = winding(b, bCount);
+        int aEdge = leastPenetratingEdge(a, aCount, aWinding, b, bCount);
+        double aSeparation = edgeSeparation(a, aCount, aWinding, aEdge, b, bCount);
+        if (aSeparation >= 0)
+            return false;
+        int bEdge = leastPenetratingEdge(b, bCount, bWinding, a, aCount);
+        double bSeparation = edgeSeparation(b, bCount, bWinding, bEdge, a, aCount);
+        if (bSeparation >= 0)
+            return false;
+
+        double[] ref = a, inc = b;
+        int refCount = aCount, incCount = bCount, refEdge = aEdge;
+        double refWinding = aWinding, incWinding = bWinding, sign = 1;
+        if (bSeparation > aSeparation + 1e-9) {
+            ref = b;
+            inc = a;
+            refCount = bCount;
+            incCount = aCount;
+            refEdge = bEdge;
+            refWinding = bWinding;
+            incWinding = aWinding;
+            sign = -1;
+        }
+        double nx = edgeNormalX(ref, refCount, refEdge, refWinding);
+        double ny = edgeNormalY(ref, refCount, refEdge, refWinding);
+        contact.setNormal(sign * nx, sign * ny, -Math.max(aSeparation, bSeparation));
+
+        // The incident edge is the one most opposed to the reference normal.
+        int incEdge = 0;
+        double opposed = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < incCount; i++) {
+            double d = nx * edgeNormalX(inc, incCount, i, incWinding)
+              + ny * edgeNormalY(inc, incCount, i, incWinding);
+            if (d < opposed) {
+                opposed = d;
+                incEdge = i;
+            }
+        }
+        int refNext = (refEdge + 1) % refCount, incNext = (incEdge + 1) % incCount;
+        double rx1 = ref[2 * refEdge], ry1 = ref[2 * refEdge + 1];
+        double rx2 = ref[2 * refNext], ry2 = ref[2 * refNext + 1];
+        double ix1 = inc[2 * incEdge], iy1 = inc[2 * incEdge + 1];
+        double ix2 = inc[2 * incNext], iy2 = inc[2 * incNext + 1];
+
+        // Clip the incident edge to the sides of the reference edge.
+        double tx = rx2 - rx1, ty = ry2 - ry1;
+        double length = Math.sqrt(tx * tx + ty * ty);
+        tx /= length;
+        ty /= length;
+        double lower = tx * rx1 + ty * ry1, upper = tx * rx2 + ty * ry2;
+        double d1 = tx * ix1 + ty * iy1, d2 = tx * ix2 + ty * iy2;
+        if (d1 > d2) {
+            double swap = ix1; ix1 = ix2; ix2 = swap;
+            swap = iy1; iy1 = iy2; iy2 = swap;
+            swap = d1; d1 = d2; d2 = swap;
+        }
+        if (d2 > d1) {
+            // Both ends are clipped from the original edge.
+            double ex = ix2 - ix1, ey = iy2 - iy1, span = d2 - d1;
+            double ox1 = ix1, oy1 = iy1;
+            if (d1 < lower) {
+                double t = (lower - d1) / span;
+                ix1 = ox1 + t * ex;
+                iy1 = oy1 + t * ey;
+            }
+            if (d2 > upper) {
+                double t = (upper - d1) / span;
+                ix2 = ox1 + t * ex;
+                iy2 = oy1 + t * ey;
+            }
+        }
+        // Keep the clipped points behind the reference face.
+        if (nx * (ix1 - rx1) + ny * (iy1 - ry1) <= 0)
+            contact.addPoint(ix1, iy1);
+        if (nx * (ix2 - rx1) + ny * (iy2 - ry1) <= 0)
+            contact.addPoint(ix2, iy2);
+        if (!contact.hasGeometry())
+            contact.addPoint(ix1, iy1);
+        return true;
+    }
+
+    /**
+     * Finds the edge of the first polygon whose normal gives the greatest
+     * separation from the second polygon.
+     * @return The index of the edge.
+     */
+    private static int leastPenetratingEdge(double[] a, int aCount, double aWinding, double[] b, int bCount) {
+        int edge = 0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < aCount; i++) {
+            double s = edgeSeparation(a, aCount, aWinding, i, b, bCount);
+            if (s > max) {
+                max = s;
+                edge = i;
+            }
+        }
+        return edge;
+    }
+
+    /**
+     * Finds the separation of the second polygon from an edge of the
+     * first along the edge's outward normal; negative when penetrating.
+     * @return The separation.
+     */
+    private static double edgeSeparation(double[] a, int aCount, double aWinding, int edge,
+                                         double[] b, int bCount) {
+        double nx = edgeNormalX(a, aCount, edge, aWinding);
+        double ny = edgeNormalY(a, aCount, edge, aWinding);
+        double min = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < bCount; k++)
+            min = Math.min(min, nx * (b[2 * k] - a[2 * edge]) + ny * (b[2 * k + 1] - a[2 * edge + 1]));
+        return min;
+    }
+
+    /**
+     * Returns the sign of the polygon's signed area, which orients the
+     * outward edge normals.
+     * @return 1 or -1.
+     */
+    private static double winding(double[] p, int count) {
+        double area = 0;
+        for (int i = 0, j = count - 1; i < count; j = i++)
+            area += p[2 * j] * p[2 * i + 1] - p[2 * i] * p[2 * j + 1];
+        return area < 0 ? -1 : 1;
+    }
+
+    /**
+     * Returns the x of the unit outward normal of the edge starting at the
+     * vertex; 0 when the edge has no length.
+     * @return The x of the normal.
+     */
+    private static double edgeNormalX(double[] p, int count, int i, double winding) {
+        int j = (i + 1) % count;
+        double ex = p[2 * j] - p[2 * i], ey = p[2 * j + 1] - p[2 * i + 1];
+        double length = Math.sqrt(ex * ex + ey * ey);
+        return length == 0 ? 0 : winding * ey / length;
+    }
+
+    /**
+     * Returns the y of the unit outward normal of the edge starting at the
+     * vertex; 0 when the edge has no length.
+     * @return The y of the normal.
+     */
+    private static double edgeNormalY(double[] p, int count, int i, double winding) {
+        int j = (i + 1) % count;
+        double ex = p[2 * j] - p[2 * i], ey = p[2 * j + 1] - p[2 * i + 1];
+        double length = Math.sqrt(ex * ex + ey * ey);
+        return length == 0 ? 0 : -winding * ex / length;
+    }
+
+    /**
+     * The support function of a convex polygon, reusable for any
+     * polygon without allocation.
+     */
+    public static class PolygonSupport
+    implements ISupport {
+        /**
+         * The polygon's coordinates.
+         */
+        private double[] coordinates;
+        /**
+         * The number of vertices.
+         */
+        private int count;
+
+        /**
+         * Sets the polygon described by the support function.
+         * @param coordinates The polygon's coordinates.
+         * @param count The number of vertices.
+         * @return This support function.
+         */
+        public PolygonSupport set(double[] coordinates, int count) {
+            this.coordinates = coordinates;
+            this.count = count;
+            return this;
+        }
+
+        @Override
+        public void support(double dx, double dy, double[] out) {
+            int best = 0;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                double d = coordinates[2 * i] * dx + coordinates[2 * i + 1] * dy;
+                if (d > max) {
+                    max = d;
+                    best = i;
+                }
+            }
+            out[0] = coordinates[2 * best];
+            out[1] = coordinates[2 * best + 1];
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package collidascope.collidadetecta;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * A rectangle rotated about its center, for use as a bounding shape.
+ * java.awt has no oriented box type, and rotated paths are flattened
+ * through a path iterator on every detection; @see ShapeDetector instead
+ * tests oriented boxes with @see NarrowPhase#obbs and reads their corners
+ * directly, so it does not allocate for them. The box is mutable so it can
+ * be moved each tick without allocating.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class OrientedBox implements Shape {
+    /**
+     * The x of the center.
+     */
+    private double centerX;
+    /**
+     * The y of the center.
+     */
+    private double centerY;
+    /**
+     * Half the width, along the rotated x axis.
+     */
+    private double halfWidth;
+    /**
+     * Half the height, along the rotated y axis.
+     */
+    private double halfHeight;
+    /**
+     * The rotation in radians.
+     */
+    private double angle;
+    /**
+     * The cosine of the rotation.
+     */
+    private double cos = 1;
+    /**
+     * The sine of the rotation.
+     */
+    private double sin;
+
+    /**
+     * Constructs the box.
+     * @param centerX The x of the center.
+     * @param centerY The y of the center.
+     * @param halfWidth Half the width.
+     * @param halfHeight Half the height.
+     * @param angle The rotation in radians.
+     */
+    public OrientedBox(double centerX, double centerY, double halfWidth, double halfHeight, double angle) {
+        setFrame(centerX, centerY, halfWidth, halfHeight, angle);
+    }
+
+    /**
+     * Moves, resizes, and rotates the box.
+     * @param centerX The x of the center.
+     * @param centerY The y of the center.
+     * @param halfWidth Half the width.
+     * @param halfHeight Half the height.
+     * @param angle The rotation in radians.
+     */
+    public void setFrame(double centerX, double centerY, double halfWidth, double halfHeight, double angle) {
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+        if (angle != this.angle) {
+            cos = Math.cos(angle);
+            sin = Math.sin(angle);
+        }
+        this.angle = angle;
+    }
+
+    /**
+     * Returns the x of the center.
+     * @return The center x.
+     */
+    public double getCenterX() { return centerX; }
+
+    /**
+     * Returns the y of the center.
+     * @return The center y.
+     */
+    public double getCenterY() { return centerY; }
+
+    /**
+     * Returns half the width, along the rotated x axis.
+     * @return The half width.
+     */
+    public double getHalfWidth() { return halfWidth; }
+
+    /**
+     * Returns half the height, along the rotated y axis.
+     * @return The half height.
+     */
+    public double getHalfHeight() { return halfHeight; }
+
+    /**
+     * Returns the rotation.
+     * @return The angle in radians.
+     */
+    public double getAngle() { return angle; }
+
+    /**
+     * Returns the x of a corner, in order around the box from the least
+     * local x and y.
+     * @param corner The corner, 0 to 3.
+     * @return The x.
+     */
+    double getCornerX(int corner) {
+        double x = corner == 0 || corner == 3 ? -halfWidth : halfWidth;
+        double y = corner < 2 ? -halfHeight : halfHeight;
+        return centerX + x * cos - y * sin;
+    }
+
+    /**
+     * Returns the y of a corner, in order around the box from the least
+     * local x and y.
+     * @param corner The corner, 0 to 3.
+     * @return The y.
+     */
+    double getCornerY(int corner) {
+        double x = corner == 0 || corner == 3 ? -halfWidth : halfWidth;
+        double y = corner < 2 ? -halfHeight : halfHeight;
+        return centerY + x * sin + y * cos;
+    }
+
+    /**
+     * Builds the box as a path for the less frequent java.awt.Shape
+     * queries.
+     * @return The path.
+     */
+    private Path2D toPath() {
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, 5);
+        path.moveTo(getCornerX(0), getCornerY(0));
+        for (int corner = 1; corner < 4; corner++)
+            path.lineTo(getCornerX(corner), getCornerY(corner));
+        path.closePath();
+        return path;
+    }
+
+    @Override
+    public Rectangle getBounds() {
+        return getBounds2D().getBounds();
+    }
+
+    @Override
+    public Rectangle2D getBounds2D() {
+        double extentX = Math.abs(halfWidth * cos) + Math.abs(halfHeight * sin);
+        double extentY = Math.abs(halfWidth * sin) + Math.abs(halfHeight * cos);
+        return new Rectangle2D.Double(centerX - extentX, centerY - extentY, 2 * extentX, 2 * extentY);
+    }
+
+    @Override
+    public boolean contains(double x, double y) {
+        return toPath().contains(x, y);
+    }
+
+    @Override
+    public boolean contains(Point2D p) {
+        return contains(p.getX(), p.getY());
+    }
+
+    @Override
+    public boolean intersects(double x, double y, double w, double h) {
+        return toPath().intersects(x, y, w, h);
+    }
+
+    @Override
+    public boolean intersects(Rectangle2D r) {
+        return intersects(r.getX(), r.getY(), r.getWidth(), r.getHeight());
+    }
+
+    @Override
+    public boolean contains(double x, double y, double w, double h) {
+        return toPath().contains(x, y, w, h);
+    }
+
+    @Override
+    public boolean contains(Rectangle2D r) {
+        return contains(r.getX(), r.getY(), r.getWidth(), r.getHeight());
+    }
+
+    @Override
+    public PathIterator getPathIterator(AffineTransform at) {
+        return toPath().getPathIterator(at);
+    }
+
+    @Override
+    public PathIterator getPathIterator(AffineTransform at, double flatness) {
+        return getPathIterator(at);
+    }
+
+    @Override
+    public String toString() {
+        return "OrientedBox[center=(" + centerX + ", " + centerY + "), half=(" + halfWidth + ", "
+          + halfHeight + "), angle=" + angle + "]";
+    }
+}
@@ -0,0 +1,348 @@
+package collidascope.collidadetecta;
+
+import collidascope.ICollider;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * A detection function which selects the built-in narrow phase test for
+ * the colliders' bounding shapes. Rectangles, circles, and oriented boxes
+ * are tested directly; polygons, paths, and other shapes are flattened
+ * into convex polygons and tested with the separating axis theorem or,
+ * when they have many vertices, GJK. Bounding shapes other than
+ * rectangles and circles are assumed to be convex.
+ *
+ * Rectangles, circles, polygons, and @see OrientedBox are read without
+ * allocating. Other shapes are read through a path iterator, which the
+ * shape allocates on every detection; paths without curves skip the
+ * flattening iterator wrapped around it.
+ *
+ * The detector may be mapped to specific collision keys like any client
+ * function or set as the default for keys without one. As a contact
+ * detector it also computes the contact manifold; the many vertex case
+ * then uses GJK as an early-out before the separating axis theorem.
+ * @see Detector#setDefaultDetector
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class ShapeDetector
+implements BiFunction<ICollider, ICollider, Boolean>, IContactDetector {
+    /**
+     * The most combined vertices tested with the separating axis theorem;
+     * GJK is used beyond it.
+     */
+    private static final int SAT_VERTEX_LIMIT = 16;
+    /**
+     * The flatness used when flattening curved shapes into polygons.
+     */
+    private static final double FLATNESS = 0.05;
+    /**
+     * Per thread buffers for the flattened polygons.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    @Override
+    public Boolean apply(ICollider a, ICollider b) {
+        return intersects(a.getBoundingShape(), b.getBoundingShape());
+    }
+
+    /**
+     * Detects the intersection of two shapes with the built-in narrow
+     * phase tests.
+     * @param a The first shape.
+     * @param b The second shape.
+     * @return Do they intersect?
+     */
+    public static boolean intersects(Shape a, Shape b) {
+        if (a instanceof Rectangle2D && b instanceof Rectangle2D) {
+            Rectangle2D r = (Rectangle2D) a, s = (Rectangle2D) b;
+            return NarrowPhase.aabbs(r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY(),
+              s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY());
+        }
+        if (isCircle(a) && isCircle(b)) {
+            Ellipse2D e = (Ellipse2D) a, f = (Ellipse2D) b;
+            return NarrowPhase.circles(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              f.getCenterX(), f.getCenterY(), f.getWidth() / 2);
+        }
+        if (isCircle(a) && b instanceof Rectangle2D)
+            return circleAabb((Ellipse2D) a, (Rectangle2D) b);
+        if (a instanceof Rectangle2D && isCircle(b))
+            return circleAabb((Ellipse2D) b, (Rectangle2D) a);
+        if (isBox(a) && isBox(b))
+            return obbs(a, b);
+
+        Scratch scratch = SCRATCH.get();
+        if (isCircle(a)) {
+            Ellipse2D e = (Ellipse2D) a;
+            int count = flatten(b, scratch, 1);
+            // An empty shape collides with nothing.
+            if (count == 0)
+                return false;
+            return NarrowPhase.circlePolygon(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              scratch.polygonB, count);
+        }
+        if (isCircle(b)) {
+            Ellipse2D e = (Ellipse2D) b;
+            int count = flatten(a, scratch, 0);
+            if (count == 0)
+                return false;
+            return NarrowPhase.circlePolygon(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              scratch.polygonA, count);
+        }
+        int aCount = flatten(a, scratch, 0);
+        int bCount = flatten(b, scratch, 1);
+        if (aCount == 0 || bCount == 0)
+            return false;
+        if (aCount + bCount <= SAT_VERTEX_LIMIT)
+            return NarrowPhase.polygons(scratch.polygonA, aCount, scratch.polygonB, bCount);
+        return NarrowPhase.gjk(scratch.supportA.set(scratch.polygonA, aCount),
+          scratch.supportB.set(scratch.polygonB, bCount));
+    }
+
+    @Override
+    public boolean detect(ICollider a, ICollider b, Contact contact) {
+        return intersects(a.getBoundingShape(), b.getBoundingShape(), contact);
+    }
+
+    /**
+     * Detects the intersection of two shapes with the built-in narrow
+     * phase tests and computes the contact, with the normal from the first
+     * shape to the second.
+     * @param a The first shape.
+     * @param b The second shape.
+     * @param contact The contact written to when they intersect.
+     * @return Do they intersect?
+     */
+    public static boolean intersects(Shape a, Shape b, Contact contact) {
+        if (a instanceof Rectangle2D && b instanceof Rectangle2D) {
+            Rectangle2D r = (Rectangle2D) a, s = (Rectangle2D) b;
+            return NarrowPhase.aabbs(r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY(),
+              s.getMinX(), s.getMinY(), s.getMaxX(), s.getMaxY(), contact);
+        }
+        if (isCircle(a) && isCircle(b)) {
+            Ellipse2D e = (Ellipse2D) a, f = (Ellipse2D) b;
+            return NarrowPhase.circles(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              f.getCenterX(), f.getCenterY(), f.getWidth() / 2, contact);
+        }
+        if (isCircle(a) && b instanceof Rectangle2D)
+            return circleAabb((Ellipse2D) a, (Rectangle2D) b, contact);
+        if (a instanceof Rectangle2D && isCircle(b)) {
+            if (!circleAabb((Ellipse2D) b, (Rectangle2D) a, contact))
+                return false;
+            contact.flip();
+            return true;
+        }
+
+        Scratch scratch = SCRATCH.get();
+        if (isCircle(a)) {
+            Ellipse2D e = (Ellipse2D) a;
+            int count = flatten(b, scratch, 1);
+            if (count == 0)
+                return false;
+            return NarrowPhase.circlePolygon(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              scratch.polygonB, count, contact);
+        }
+        if (isCircle(b)) {
+            Ellipse2D e = (Ellipse2D) b;
+            int count = flatten(a, scratch, 0);
+            if (count == 0)
+                return false;
+            if (!NarrowPhase.circlePolygon(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+              scratch.polygonA, count, contact))
+                return false;
+            contact.flip();
+            return true;
+        }
+        int aCount = flatten(a, scratch, 0);
+        int bCount = flatten(b, scratch, 1);
+        if (aCount == 0 || bCount == 0)
+            return false;
+        if (aCount + bCount > SAT_VERTEX_LIMIT
+          && !NarrowPhase.gjk(scratch.supportA.set(scratch.polygonA, aCount),
+                              scratch.supportB.set(scratch.polygonB, bCount)))
+            return false;
+        return NarrowPhase.polygons(scratch.polygonA, aCount, scratch.polygonB, bCount, contact);
+    }
+
+    /**
+     * Determines if the shape is a circle.
+     * @param shape The shape.
+     * @return Is it a circle?
+     */
+    private static boolean isCircle(Shape shape) {
+        return shape instanceof Ellipse2D
+          && ((Ellipse2D) shape).getWidth() == ((Ellipse2D) shape).getHeight();
+    }
+
+    /**
+     * Determines if the shape is an oriented box or a rectangle, which is
+     * an oriented box without rotation.
+     * @param shape The shape.
+     * @return Is it a box?
+     */
+    private static boolean isBox(Shape shape) {
+        return shape instanceof OrientedBox || shape instanceof Rectangle2D;
+    }
+
+    /**
+     * Detects the intersection of two boxes, at least one of them
+     * oriented.
+     * @return Do they intersect?
+     */
+    private static boolean obbs(Shape a, Shape b) {
+        if (a instanceof Rectangle2D) {
+            Rectangle2D r = (Rectangle2D) a;
+            OrientedBox o = (OrientedBox) b;
+            return NarrowPhase.obbs(r.getCenterX(), r.getCenterY(), r.getWidth() / 2, r.getHeight() / 2, 0,
+              o.getCenterX(), o.getCenterY(), o.getHalfWidth(), o.getHalfHeight(), o.getAngle());
+        }
+        if (b instanceof Rectangle2D)
+            return obbs(b, a);
+        OrientedBox o = (OrientedBox) a, q = (OrientedBox) b;
+        return NarrowPhase.obbs(o.getCenterX(), o.getCenterY(), o.getHalfWidth(), o.getHalfHeight(), o.getAngle(),
+          q.getCenterX(), q.getCenterY(), q.getHalfWidth(), q.getHalfHeight(), q.getAngle());
+    }
+
+    /**
+     * Detects the intersection of a circle and a rectangle.
+     * @return Do they intersect?
+     */
+    private static boolean circleAabb(Ellipse2D e, Rectangle2D r) {
+        return NarrowPhase.circleAabb(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+          r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY());
+    }
+
+    /**
+     * Detects the intersection of a circle and a rectangle and computes
+     * the contact.
+     * @return Do they intersect?
+     */
+    private static boolean circleAabb(Ellipse2D e, Rectangle2D r, Contact contact) {
+        return NarrowPhase.circleAabb(e.getCenterX(), e.getCenterY(), e.getWidth() / 2,
+          r.getMinX(), r.getMinY(), r.getMaxX(), r.getMaxY(), contact);
+    }
+
+    /**
+     * Flattens the first sub-path of the shape into one of the scratch
+     * polygons. Polygons, rectangles, and oriented boxes are copied
+     * without iterating their paths, and paths are only flattened when
+     * they have curves.
+     * @param shape The shape.
+     * @param scratch The scratch buffers.
+     * @param which 0 for the first polygon, 1 for the second.
+     * @return The number of vertices.
+     */
+    private static int flatten(Shape shape, Scratch scratch, int which) {
+        if (shape instanceof Rectangle2D) {
+            Rectangle2D r = (Rectangle2D) shape;
+            double[] p = scratch.polygon(which, 4);
+            // Empty rectangles repeat their corners.
+            int count = addVertex(p, 0, r.getMinX(), r.getMinY());
+            count = addVertex(p, count, r.getMaxX(), r.getMinY());
+            count = addVertex(p, count, r.getMaxX(), r.getMaxY());
+            count = addVertex(p, count, r.getMinX(), r.getMaxY());
+            return closePolygon(p, count);
+        }
+        if (shape instanceof Polygon) {
+            Polygon polygon = (Polygon) shape;
+            double[] p = scratch.polygon(which, polygon.npoints);
+            int count = 0;
+            for (int i = 0; i < polygon.npoints; i++)
+                count = addVertex(p, count, polygon.xpoints[i], polygon.ypoints[i]);
+            return closePolygon(p, count);
+        }
+        if (shape instanceof OrientedBox) {
+            OrientedBox box = (OrientedBox) shape;
+            double[] p = scratch.polygon(which, 4);
+            int count = 0;
+            for (int corner = 0; corner < 4; corner++)
+                count = addVertex(p, count, box.getCornerX(corner), box.getCornerY(corner));
+            return closePolygon(p, count);
+        }
+        int count = readPath(shape.getPathIterator(null), scratch, which);
+        if (count < 0)
+            count = readPath(shape.getPathIterator(null, FLATNESS), scratch, which);
+        return count;
+    }
+
+    /**
+     * Reads the first sub-path of a path into one of the scratch polygons.
+     * @param i The path iterator.
+     * @param scratch The scratch buffers.
+     * @param which 0 for the first polygon, 1 for the second.
+     * @return The number of vertices, or -1 when the path has a curve and
+     *         must be flattened.
+     */
+    private static int readPath(PathIterator i, Scratch scratch, int which) {
+        int count = 0;
+        double[] p = scratch.polygon(which, 0);
+        double[] segment = scratch.segment;
+        for (; !i.isDone(); i.next()) {
+            int type = i.currentSegment(segment);
+            if (type == PathIterator.SEG_QUADTO || type == PathIterator.SEG_CUBICTO)
+                return -1;
+            if (type == PathIterator.SEG_CLOSE || (type == PathIterator.SEG_MOVETO && count > 0))
+                break;
+            p = scratch.polygon(which, count + 1);
+            count = addVertex(p, count, segment[0], segment[1]);
+        }
+        return closePolygon(p, count);
+    }
+
+    /**
+     * Appends the vertex to the polygon unless it repeats the last one,
+     * as repeated vertices give edges without normals.
+     * @return The new number of vertices.
+     */
+    private static int addVertex(double[] p, int count, double x, double y) {
+        if (count > 0 && p[2 * count - 2] == x && p[2 * count - 1] == y)
+            return count;
+        p[2 * count] = x;
+        p[2 * count + 1] = y;
+        return count + 1;
+    }
+
+    /**
+     * Drops the closing vertex when the polygon repeats its first.
+     * @return The new number of vertices.
+     */
+    private static int closePolygon(double[] p, int count) {
+        if (count > 1 && p[0] == p[2 * count - 2] && p[1] == p[2 * count - 1])
+            count--;
+        return count;
+    }
+
+    /**
+     * The buffers reused by a thread for each detection.
+     */
+    private static class Scratch {
+        private double[] polygonA = new double[32];
+        private double[] polygonB = new double[32];
+        private double[] segment = new double[6];
+        private NarrowPhase.PolygonSupport supportA = new NarrowPhase.PolygonSupport();
+        private NarrowPhase.PolygonSupport supportB = new NarrowPhase.PolygonSupport();
+
+        /**
+         * Returns the polygon buffer, grown to hold the given vertices.
+         * @param which 0 for the first polygon, 1 for the second.
+         * @param count The number of vertices.
+         * @return The buffer.
+         */
+        private double[] polygon(int which, int count) {
+            double[] p = which == 0 ? polygonA : polygonB;
+            if (p.length >= 2 * count)
+                return p;
+            double[] grown = Arrays.copyOf(p, Math.max(2 * count, 2 * p.length));
+            if (which == 0)
+                polygonA = grown;
+            else
+                polygonB = grown;
+            return grown;
+        }
+    }
+}
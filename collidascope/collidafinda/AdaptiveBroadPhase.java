@@ -0,0 +1,335 @@
+package collidascope.collidafinda;
+
+import java.util.Arrays;
+
+/**
+ * A broad phase which chooses between a @see SpatialGrid and
+ * @see SweepAndPrune from the statistics of the scene. Every few searches
+ * it samples the number of colliders, the spread of their sizes, and the
+ * candidate pairs found per collider. Scenes of similarly sized colliders
+ * use the grid, with the cell size retuned to the colliders' mean size;
+ * scenes of mixed sizes or dense clusters use sweep and prune.
+ *
+ * A switch never stalls a search: the colliders are added to the new
+ * broad phase a batch per search while the old one keeps answering, and
+ * the new one takes over once it holds them all. Retuning the grid is
+ * immediate as the grid is rebuilt for each search anyway.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class AdaptiveBroadPhase
+implements IBroadPhase {
+    /**
+     * The number of searches between samples when none is given.
+     */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 30;
+    /**
+     * The cell size of the grid started with.
+     */
+    private static final double INITIAL_CELL_SIZE = 64;
+    /**
+     * The size spread, the standard deviation over the mean, above which
+     * sweep and prune is chosen.
+     */
+    private static final double SPREAD_TO_SWEEP = 1.0;
+    /**
+     * The size spread below which the grid is chosen again.
+     */
+    private static final double SPREAD_TO_GRID = 0.75;
+    /**
+     * The candidate pairs per collider above which sweep and prune is
+     * chosen.
+     */
+    private static final double PAIR_RATIO_TO_SWEEP = 4;
+    /**
+     * The candidate pairs per collider below which the grid is chosen
+     * again.
+     */
+    private static final double PAIR_RATIO_TO_GRID = 3;
+    /**
+     * The cell size relative to the colliders' mean size.
+     */
+    private static final double CELL_SCALE = 2;
+    /**
+     * The relative change in the ideal cell size which retunes the grid.
+     */
+    private static final double RETUNE_TOLERANCE = 0.25;
+    /**
+     * The number of searches a switch is spread over.
+     */
+    private static final int MIGRATION_SEARCHES = 4;
+    /**
+     * The fewest colliders moved to the new broad phase per search.
+     */
+    private static final int MIN_MIGRATION_BATCH = 256;
+
+    /**
+     * The number of searches between samples.
+     */
+    private final int sampleInterval;
+    /**
+     * The broad phase answering the searches.
+     */
+    private IBroadPhase active;
+    /**
+     * The broad phase being switched to; null when not switching.
+     */
+    private IBroadPhase next;
+    /**
+     * The bounds of each handle: min x, min y, max x, and max y.
+     */
+    private double[] bounds;
+    /**
+     * The handles added, densely packed.
+     */
+    private int[] handles;
+    /**
+     * The position of each handle in @see handles; -1 when absent.
+     */
+    private int[] positions;
+    /**
+     * The number of handles added.
+     */
+    private int count;
+    /**
+     * Has each handle been added to the broad phase being switched to?
+     */
+    private boolean[] migrated;
+    /**
+     * The handles to move to the broad phase being switched to.
+     */
+    private int[] migration;
+    /**
+     * The number of handles in @see migration.
+     */
+    private int migrationCount;
+    /**
+     * The index of the next handle in @see migration to move.
+     */
+    private int migrationCursor;
+    /**
+     * The number of searches since the last sample.
+     */
+    private int searches;
+    /**
+     * The number of candidate pairs found since the last sample.
+     */
+    private long pairs;
+    /**
+     * The consumer the current search reports to.
+     */
+    private IPairConsumer consumer;
+    /**
+     * Counts the candidate pairs as they are passed on; kept so the search
+     * does not allocate.
+     */
+    private IPairConsumer counter;
+
+    /**
+     * Constructs the broad phase sampling at the default interval.
+     */
+    public AdaptiveBroadPhase() {
+        this(DEFAULT_SAMPLE_INTERVAL);
+    }
+
+    /**
+     * Constructs the broad phase sampling at the given interval. It starts
+     * with a grid of the default cell size.
+     * @param sampleInterval The number of searches between samples.
+     */
+    public AdaptiveBroadPhase(int sampleInterval) {
+        if (sampleInterval < 1)
+            throw new IllegalArgumentException("sampleInterval < 1");
+        this.sampleInterval = sampleInterval;
+        active = new SpatialGrid(INITIAL_CELL_SIZE);
+        bounds = new double[64];
+        handles = new int[16];
+        positions = new int[16];
+        Arrays.fill(positions, -1);
+        migrated = new boolean[16];
+        migration = new int[16];
+        counter = (a, b) -> {
+            pairs++;
+            consumer.accept(a, b);
+        };
+    }
+
+    /**
+     * Returns the broad phase answering the searches.
+     * @return The active broad phase.
+     */
+    public IBroadPhase getActive() {
+        return active;
+    }
+
+    /**
+     * Determines if a switch to another broad phase is underway.
+     * @return Is it switching?
+     */
+    public boolean isSwitching() {
+        return next != null;
+    }
+
+    @Override
+    public void add(int handle, double minX, double minY, double maxX, double maxY) {
+        if (handle >= positions.length) {
+            int length = Math.max(handle + 1, 2 * positions.length);
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, length);
+            Arrays.fill(positions, old, length, -1);
+            migrated = Arrays.copyOf(migrated, length);
+            bounds = Arrays.copyOf(bounds, 4 * length);
+        }
+        if (positions[handle] >= 0)
+            throw new IllegalArgumentException("handle is already added");
+        if (count == handles.length)
+            handles = Arrays.copyOf(handles, 2 * count);
+        handles[count] = handle;
+        positions[handle] = count++;
+        setBounds(handle, minX, minY, maxX, maxY);
+        active.add(handle, minX, minY, maxX, maxY);
+        if (next != null) {
+            next.add(handle, minX, minY, maxX, maxY);
+            migrated[handle] = true;
+        }
+    }
+
+    @Override
+    public void update(int handle, double minX, double minY, double maxX, double maxY) {
+        setBounds(handle, minX, minY, maxX, maxY);
+        active.update(handle, minX, minY, maxX, maxY);
+        if (next != null && migrated[handle])
+            next.update(handle, minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public void remove(int handle) {
+        int position = positions[handle];
+        if (position < 0)
+            throw new IllegalArgumentException("handle is not added");
+        int last = handles[--count];
+        handles[position] = last;
+        positions[last] = position;
+        positions[handle] = -1;
+        active.remove(handle);
+        if (next != null && migrated[handle])
+            next.remove(handle);
+        migrated[handle] = false;
+    }
+
+    @Override
+    public void findPairs(IPairConsumer consumer) {
+        if (next != null)
+            migrate();
+        this.consumer = consumer;
+        try {
+            active.findPairs(counter);
+        } finally {
+            this.consumer = null;
+        }
+        if (++searches >= sampleInterval && next == null)
+            sample();
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBroadPhase[" + active + "]";
+    }
+
+    /**
+     * Samples the scene and switches or retunes the broad phase.
+     */
+    private void sample() {
+        double pairRatio = (double) pairs / searches / Math.max(1, count);
+        searches = 0;
+        pairs = 0;
+        if (count < 2)
+            return;
+        double sum = 0, sumOfSquares = 0;
+        for (int i = 0; i < count; i++) {
+            int handle = handles[i];
+            double size = Math.max(bounds[4 * handle + 2] - bounds[4 * handle],
+              bounds[4 * handle + 3] - bounds[4 * handle + 1]);
+            sum += size;
+            sumOfSquares += size * size;
+        }
+        double mean = sum / count;
+        double spread = mean > 0
+          ? Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean)) / mean : 0;
+
+        if (active instanceof SpatialGrid) {
+            if (spread > SPREAD_TO_SWEEP || pairRatio > PAIR_RATIO_TO_SWEEP) {
+                beginSwitch(new SweepAndPrune());
+                return;
+            }
+            SpatialGrid grid = (SpatialGrid) active;
+            double cellSize = idealCellSize(mean);
+            if (Math.abs(cellSize - grid.getCellSize()) > RETUNE_TOLERANCE * grid.getCellSize())
+                grid.setCellSize(cellSize);
+        } else if (spread < SPREAD_TO_GRID && pairRatio < PAIR_RATIO_TO_GRID) {
+            beginSwitch(new SpatialGrid(idealCellSize(mean)));
+        }
+    }
+
+    /**
+     * Returns the grid cell size suited to colliders of the mean size.
+     * @param mean The mean size of the colliders.
+     * @return The cell size.
+     */
+    private static double idealCellSize(double mean) {
+        return mean > 0 ? CELL_SCALE * mean : 1;
+    }
+
+    /**
+     * Begins switching to the given broad phase. The colliders are moved
+     * to it over the following searches.
+     * @param broadPhase The broad phase to switch to.
+     */
+    private void beginSwitch(IBroadPhase broadPhase) {
+        next = broadPhase;
+        if (migration.length < count)
+            migration = new int[handles.length];
+        System.arraycopy(handles, 0, migration, 0, count);
+        migrationCount = count;
+        migrationCursor = 0;
+    }
+
+    /**
+     * Moves the next batch of colliders to the broad phase being switched
+     * to and, once it holds them all, makes it the active one.
+     */
+    private void migrate() {
+        int batch = Math.max(MIN_MIGRATION_BATCH, (migrationCount + MIGRATION_SEARCHES - 1) / MIGRATION_SEARCHES);
+        int end = Math.min(migrationCount, migrationCursor + batch);
+        for (; migrationCursor < end; migrationCursor++) {
+            int handle = migration[migrationCursor];
+            // Handles removed since the switch began are skipped.
+            if (positions[handle] < 0 || migrated[handle])
+                continue;
+            next.add(handle, bounds[4 * handle], bounds[4 * handle + 1],
+              bounds[4 * handle + 2], bounds[4 * handle + 3]);
+            migrated[handle] = true;
+        }
+        if (migrationCursor < migrationCount)
+            return;
+        active = next;
+        next = null;
+        for (int i = 0; i < count; i++)
+            migrated[handles[i]] = false;
+    }
+
+    /**
+     * Records the bounds of the handle.
+     */
+    private void setBounds(int handle, double minX, double minY, double maxX, double maxY) {
+        bounds[4 * handle] = minX;
+        bounds[4 * handle + 1] = minY;
+        bounds[4 * handle + 2] = maxX;
+        bounds[4 * handle + 3] = maxY;
+    }
+}
@@ -0,0 +1,52 @@
+package collidascope.collidafinda;
+
+/**
+ * Interface for the broad phase, which finds the pairs of colliders whose
+ * bounding rectangles overlap so only they are given to the detectors.
+ * Colliders are identified by the slot index of the handles given out by
+ * @see collidascope.Collider#register, which stays compact so
+ * implementations may index arrays with it.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public interface IBroadPhase {
+
+    /**
+     * Adds a collider's bounds.
+     * @param handle The collider's handle.
+     * @param minX The least x of the bounds.
+     * @param minY The least y of the bounds.
+     * @param maxX The greatest x of the bounds.
+     * @param maxY The greatest y of the bounds.
+     */
+    public void add(int handle, double minX, double minY, double maxX, double maxY);
+
+    /**
+     * Updates the bounds of a collider which was added.
+     * @param handle The collider's handle.
+     * @param minX The least x of the bounds.
+     * @param minY The least y of the bounds.
+     * @param maxX The greatest x of the bounds.
+     * @param maxY The greatest y of the bounds.
+     */
+    public void update(int handle, double minX, double minY, double maxX, double maxY);
+
+    /**
+     * Removes a collider which was added.
+     * @param handle The collider's handle.
+     */
+    public void remove(int handle);
+
+    /**
+     * Gives each pair of colliders whose bounds overlap to the consumer
+     * exactly once.
+     * @param consumer The consumer of the pairs.
+     */
+    public void findPairs(IPairConsumer consumer);
+
+    /**
+     * Returns the number of colliders added.
+     * @return The size.
+     */
+    public int size();
+}
@@ -0,0 +1,19 @@
+package collidascope.collidafinda;
+
+/**
+ * Interface for receiving the candidate pairs found by a broad phase,
+ * given by the slot indexes of their colliders' handles so no objects are
+ * allocated per pair.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+@FunctionalInterface
+public interface IPairConsumer {
+
+    /**
+     * Accepts a candidate pair.
+     * @param a The slot index of the first collider.
+     * @param b The slot index of the second collider.
+     */
+    public void accept(int a, int b);
+}
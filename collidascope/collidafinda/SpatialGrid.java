@@ -0,0 +1,192 @@
+package collidascope.collidafinda;
+
+import java.util.Arrays;
+
+/**
+ * A broad phase which buckets the colliders into a uniform grid of square
+ * cells. The grid is rebuilt for each search by sorting the hashed cell
+ * of every collider/cell entry, so adding, updating, and removing are
+ * constant time and nothing is allocated once the arrays have grown.
+ * A pair is only reported in the cell holding the corner of their
+ * overlap, so pairs sharing several cells are reported once. The cell
+ * size should be around the size of the typical collider.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class SpatialGrid
+implements IBroadPhase {
+    /**
+     * The width and height of a cell.
+     */
+    private double cellSize;
+    /**
+     * The bounds of each handle: min x, min y, max x, and max y.
+     */
+    private double[] bounds;
+    /**
+     * The handles added, densely packed.
+     */
+    private int[] handles;
+    /**
+     * The position of each handle in @see handles; -1 when absent.
+     */
+    private int[] positions;
+    /**
+     * The number of handles added.
+     */
+    private int count;
+    /**
+     * The entries of the grid: the cell hash in the high bits and the
+     * handle in the low bits.
+     */
+    private long[] entries;
+
+    /**
+     * Constructs the grid with the given cell size.
+     * @param cellSize The width and height of a cell.
+     */
+    public SpatialGrid(double cellSize) {
+        setCellSize(cellSize);
+        bounds = new double[64];
+        handles = new int[16];
+        positions = new int[16];
+        Arrays.fill(positions, -1);
+        entries = new long[64];
+    }
+
+    /**
+     * Returns the width and height of a cell.
+     * @return The cell size.
+     */
+    public double getCellSize() { return cellSize; }
+
+    /**
+     * Sets the width and height of a cell. It takes effect on the next
+     * search as the grid is rebuilt for each.
+     * @param cellSize The cell size.
+     */
+    public void setCellSize(double cellSize) {
+        if (!(cellSize > 0))
+            throw new IllegalArgumentException("cellSize <= 0");
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void add(int handle, double minX, double minY, double maxX, double maxY) {
+        if (handle >= positions.length) {
+            int length = Math.max(handle + 1, 2 * positions.length);
+            int old = positions.length;
+            positions = Arrays.copyOf(positions, length);
+            Arrays.fill(positions, old, length, -1);
+            bounds = Arrays.copyOf(bounds, 4 * length);
+        }
+        if (positions[handle] >= 0)
+            throw new IllegalArgumentException("handle is already added");
+        if (count == handles.length)
+            handles = Arrays.copyOf(handles, 2 * count);
+        handles[count] = handle;
+        positions[handle] = count++;
+        update(handle, minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public void update(int handle, double minX, double minY, double maxX, double maxY) {
+        bounds[4 * handle] = minX;
+        bounds[4 * handle + 1] = minY;
+        bounds[4 * handle + 2] = maxX;
+        bounds[4 * handle + 3] = maxY;
+    }
+
+    @Override
+    public void remove(int handle) {
+        int position = positions[handle];
+        if (position < 0)
+            throw new IllegalArgumentException("handle is not added");
+        int last = handles[--count];
+        handles[position] = last;
+        positions[last] = position;
+        positions[handle] = -1;
+    }
+
+    @Override
+    public void findPairs(IPairConsumer consumer) {
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int handle = handles[i];
+            int x0 = cell(bounds[4 * handle]), y0 = cell(bounds[4 * handle + 1]);
+            int x1 = cell(bounds[4 * handle + 2]), y1 = cell(bounds[4 * handle + 3]);
+            int cells = (x1 - x0 + 1) * (y1 - y0 + 1);
+            if (size + cells > entries.length)
+                entries = Arrays.copyOf(entries, Math.max(size + cells, 2 * entries.length));
+            for (int x = x0; x <= x1; x++)
+                for (int y = y0; y <= y1; y++)
+                    entries[size++] = ((long) hash(x, y) << 32) | handle;
+        }
+        Arrays.sort(entries, 0, size);
+        for (int start = 0, end; start < size; start = end) {
+            int hash = (int) (entries[start] >> 32);
+            end = start + 1;
+            while (end < size && (int) (entries[end] >> 32) == hash)
+                end++;
+            for (int i = start; i < end; i++) {
+                // Cells sharing a hash may list a handle twice.
+                if (i > start && entries[i] == entries[i - 1])
+                    continue;
+                int a = (int) entries[i];
+                for (int j = i + 1; j < end; j++) {
+                    if (entries[j] == entries[j - 1])
+                        continue;
+                    int b = (int) entries[j];
+                    if (overlap(a, b) && ownerHash(a, b) == hash)
+                        consumer.accept(a, b);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "SpatialGrid[cellSize=" + cellSize + "]";
+    }
+
+    /**
+     * Determines if the bounds of two handles overlap.
+     * @return Do they overlap?
+     */
+    private boolean overlap(int a, int b) {
+        return bounds[4 * a] < bounds[4 * b + 2] && bounds[4 * b] < bounds[4 * a + 2]
+          && bounds[4 * a + 1] < bounds[4 * b + 3] && bounds[4 * b + 1] < bounds[4 * a + 3];
+    }
+
+    /**
+     * Returns the hash of the cell holding the least corner of the
+     * overlap of two handles, the only cell the pair is reported in.
+     * @return The hash of the cell.
+     */
+    private int ownerHash(int a, int b) {
+        return hash(cell(Math.max(bounds[4 * a], bounds[4 * b])),
+          cell(Math.max(bounds[4 * a + 1], bounds[4 * b + 1])));
+    }
+
+    /**
+     * Returns the cell coordinate of a position.
+     * @param position The x or y of the position.
+     * @return The cell coordinate.
+     */
+    private int cell(double position) {
+        return (int) Math.floor(position / cellSize);
+    }
+
+    /**
+     * Hashes the coordinates of a cell.
+     * @return The hash.
+     */
+    private static int hash(int x, int y) {
+        return x * 73856093 ^ y * 19349663;
+    }
+}
@@ -0,0 +1,188 @@
+package collidascope.collidafinda;
+
+import java.util.Arrays;
+
+/**
+ * A broad phase which keeps the colliders sorted by the least x of their
+ * bounds and sweeps along x, testing each collider only against those
+ * starting before it ends. Colliders move little between ticks so the
+ * order is restored by an insertion sort in near linear time; when many
+ * colliders have been added since the last search it is sorted afresh.
+ * It copes well with colliders of mixed sizes and with dense clusters.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class SweepAndPrune
+implements IBroadPhase {
+    /**
+     * The bounds of each handle: min x, min y, max x, and max y.
+     */
+    private double[] bounds;
+    /**
+     * The handles added, sorted by least x as of the last search.
+     */
+    private int[] order;
+    /**
+     * Is each handle added?
+     */
+    private boolean[] added;
+    /**
+     * The number of entries in @see order, removed handles included.
+     */
+    private int length;
+    /**
+     * The number of handles added.
+     */
+    private int count;
+    /**
+     * The number of entries appended since the last search.
+     */
+    private int unsorted;
+    /**
+     * The keys used to sort afresh: the float of the least x in the high
+     * bits and the handle in the low bits.
+     */
+    private long[] keys;
+    /**
+     * The compaction each handle was last kept in.
+     */
+    private int[] stamps;
+    /**
+     * The number of the current compaction.
+     */
+    private int stamp;
+
+    /**
+     * Constructs the broad phase with no colliders.
+     */
+    public SweepAndPrune() {
+        bounds = new double[64];
+        order = new int[16];
+        added = new boolean[16];
+        keys = new long[16];
+        stamps = new int[16];
+    }
+
+    @Override
+    public void add(int handle, double minX, double minY, double maxX, double maxY) {
+        if (handle >= added.length) {
+            int size = Math.max(handle + 1, 2 * added.length);
+            added = Arrays.copyOf(added, size);
+            bounds = Arrays.copyOf(bounds, 4 * size);
+        }
+        if (added[handle])
+            throw new IllegalArgumentException("handle is already added");
+        if (length == order.length)
+            order = Arrays.copyOf(order, 2 * length);
+        added[handle] = true;
+        order[length++] = handle;
+        count++;
+        unsorted++;
+        update(handle, minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public void update(int handle, double minX, double minY, double maxX, double maxY) {
+        bounds[4 * handle] = minX;
+        bounds[4 * handle + 1] = minY;
+        bounds[4 * handle + 2] = maxX;
+        bounds[4 * handle + 3] = maxY;
+    }
+
+    @Override
+    public void remove(int handle) {
+        if (handle >= added.length || !added[handle])
+            throw new IllegalArgumentException("handle is not added");
+        // The entry is dropped from the order on the next search.
+        added[handle] = false;
+        count--;
+    }
+
+    @Override
+    public void findPairs(IPairConsumer consumer) {
+        compact();
+        if (unsorted > length / 8)
+            sortAfresh();
+        insertionSort();
+        unsorted = 0;
+        for (int i = 0; i < length; i++) {
+            int a = order[i];
+            double maxX = bounds[4 * a + 2];
+            for (int j = i + 1; j < length; j++) {
+                int b = order[j];
+                if (bounds[4 * b] >= maxX)
+                    break;
+                if (bounds[4 * a + 1] < bounds[4 * b + 3] && bounds[4 * b + 1] < bounds[4 * a + 3]
+                  && bounds[4 * b + 2] > bounds[4 * a])
+                    consumer.accept(a, b);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepAndPrune";
+    }
+
+    /**
+     * Drops the entries of removed handles from the order. A handle
+     * removed and added again before the search has two entries; the
+     * last is kept.
+     */
+    private void compact() {
+        if (length == count)
+            return;
+        if (stamps.length < added.length)
+            stamps = new int[added.length];
+        stamp++;
+        int kept = length;
+        for (int i = length - 1; i >= 0; i--) {
+            int handle = order[i];
+            if (added[handle] && stamps[handle] != stamp) {
+                stamps[handle] = stamp;
+                order[--kept] = handle;
+            }
+        }
+        System.arraycopy(order, kept, order, 0, length - kept);
+        length -= kept;
+    }
+
+    /**
+     * Sorts the order with a primitive sort on approximate keys; the
+     * insertion sort then corrects the order exactly.
+     */
+    private void sortAfresh() {
+        if (keys.length < length)
+            keys = new long[order.length];
+        for (int i = 0; i < length; i++) {
+            int bits = Float.floatToIntBits((float) bounds[4 * order[i]]);
+            // Order the float bits the way the floats are ordered.
+            bits ^= (bits >> 31) & 0x7fffffff;
+            keys[i] = ((long) bits << 32) | order[i];
+        }
+        Arrays.sort(keys, 0, length);
+        for (int i = 0; i < length; i++)
+            order[i] = (int) keys[i];
+    }
+
+    /**
+     * Restores the order by least x; near linear when little has moved.
+     */
+    private void insertionSort() {
+        for (int i = 1; i < length; i++) {
+            int handle = order[i];
+            double minX = bounds[4 * handle];
+            int j = i - 1;
+            while (j >= 0 && bounds[4 * order[j]] > minX) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = handle;
+        }
+    }
+}
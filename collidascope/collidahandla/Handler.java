@@ -2,6 +2,7 @@ package collidascope.collidahandla;
 
 import collidascope.Collision;
 import collidascope.ICollider;
+import collidascope.collidadetecta.Contact;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -22,6 +23,10 @@ public class Handler {
      * Map of collision handling functions.
      */
     private Map<String, BiConsumer<ICollider, ICollider>> handlers;
+    /**
+     * Map of collision handling functions given the contact manifold.
+     */
+    private Map<String, IContactHandler> contactHandlers;
 
     /**
      * Constructs the handler with an empty container for client
@@ -29,7 +34,9 @@ public class Handler {
      */
     public Handler() {
         handlers = new HashMap<>();
+        contactHandlers = new HashMap<>();
     }
+
     /**
      * Adds collision handler functionality to the collider.
      * @param keys The keys to map to.
@@ -48,6 +55,15 @@ public class Handler {
         this.handlers.putAll(handlers);
     }
 
+    /**
+     * Adds the mapped contact handler functions to the Handler. A contact
+     * handler takes precedence over a handler of the same key.
+     * @param handlers The map
+     */
+    public void addContactHandlers(Map<String, IContactHandler> handlers) {
+        contactHandlers.putAll(handlers);
+    }
+
     /**
      * Handles a collision between two colliders immediately.
      * @param a The first collider.
@@ -55,6 +71,23 @@ public class Handler {
      * @param key The key for the handler function.
      */
     public void handleCollision(ICollider a, ICollider b, String key) {
+        handleCollision(a, b, key, null);
+    }
+
+    /**
+     * Handles a collision between two colliders immediately, giving the
+     * contact manifold to a contact handler.
+     * @param a The first collider.
+     * @param b The second collider.
+     * @param key The key for the handler function.
+     * @param contact The contact manifold; may be null.
+     */
+    public void handleCollision(ICollider a, ICollider b, String key, Contact contact) {
+        IContactHandler contactHandler = contactHandlers.get(key);
+        if (contactHandler != null) {
+            contactHandler.accept(a, b, contact);
+            return;
+        }
         BiConsumer<ICollider, ICollider> handler = handlers.get(key);
         if (handler == null)
             return;
@@ -69,8 +102,8 @@ public class Handler {
         while (iterator.hasNext()) {
             Collision collision = iterator.next();
             ICollider one = collision.getOne();
-            handlers.get(collision.getCollisionKey())
-              .accept(one, collision.getTheOther(one));
+            handleCollision(one, collision.getTheOther(one), collision.getCollisionKey(),
+              collision.getContact());
         }
     }
 }
@@ -0,0 +1,24 @@
+package collidascope.collidahandla;
+
+import collidascope.ICollider;
+import collidascope.collidadetecta.Contact;
+
+/**
+ * Interface for handler functions which are given the contact manifold
+ * of the collision along with the colliders.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+@FunctionalInterface
+public interface IContactHandler {
+
+    /**
+     * Carries out the collision response.
+     * @param a "one" of the colliders.
+     * @param b The "other" one in the collision.
+     * @param contact The contact manifold, which must not be kept; it is
+     *                empty when the detector did not compute one and null
+     *                when the collision was tracked without one.
+     */
+    public void accept(ICollider a, ICollider b, Contact contact);
+}
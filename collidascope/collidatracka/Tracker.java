@@ -2,11 +2,15 @@ package collidascope.collidatracka;
 
 import collidascope.Collision;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
-import java.util.TreeSet;
+import java.util.TreeMap;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * The collision tracker tracks and prioritizes <em>unique</em>
@@ -14,14 +18,15 @@ import java.util.function.Consumer;
  * collisions. It is the client's responsibility to ensure priorities
  * are set and to understand collisions are <em>handled</em> uni-
  * directionally (A - B != B - A). The tracking mechanism does
- * not check for equivalent, but reversed, collisions. It is
- * assumed the <em>iteration</em> for collision detection is "smart"
- * and disallows the checking of B - A given A - B exists. In other
- * words, if the client does <em>not</em> prevent redundant/equivalent
- * collision detections neither does this code.
+ * not check for equivalent, but reversed, collisions; A - B and
+ * B - A are tracked and handled separately. The collider detects
+ * each candidate pair in both directions so each side's handler
+ * is given the collision; a handler resolving both colliders
+ * should expect to be given each colliding pair twice.
  *
- * <em>Note: The comparator used for prioritizing the collisions imposes
- * ordering inconsistent with 'equals'.</em>
+ * Collisions of equal priority are kept in the order they were tracked
+ * so several collisions may share a priority, as happens when the parts
+ * of a compound collider are hit.
  * @author Robert Wilk
  *         Created on 5/23/2015.
  */
@@ -29,48 +34,56 @@ public class Tracker
 implements Iterable {
 
     /**
-     * The set of prioritized collisions.
+     * The prioritized collisions grouped by their priority.
      */
-    private Set<Collision> collisions;
+    private Map<Integer, Set<Collision>> collisions;
 
     /**
      * Constructs the tracker with an empty collection of collisions.
      */
     public Tracker() {
-        // Assigns the tree set and passes in an anonymous comparator for
-        // prioritization.
-        collisions = new TreeSet<>((Collision one, Collision theOther) ->
-          theOther.getPriority() - one.getPriority()
-        );
+        // The priorities are ordered so the one with the greater value
+        // comes first, as with the original comparator.
+        collisions = new TreeMap<>(Collections.reverseOrder());
     }
 
     /**
      * Adds the collision to the collection.
      * @param collision The collision to be tracked.
+     * @return Was it tracked, or disregarded as a duplicate?
      */
-    public void track(Collision collision) {
-        collisions.add(collision);
+    public boolean track(Collision collision) {
+        return collisions.computeIfAbsent(collision.getPriority(), p -> new LinkedHashSet<>())
+          .add(collision);
     }
 
     /**
      * Clears the collisions from the collection
      */
     public void clear() {
-        collisions.clear();
+        collisions.values().forEach(Set::clear);
     }
 
     @Override
     public Iterator iterator() {
-        return collisions.iterator();
+        return stream().iterator();
     }
 
     @Override
     public void forEach(Consumer action) {
-        collisions.forEach(action);
+        stream().forEach(action);
     }
 
     @Override
     public Spliterator spliterator() {
-        return collisions.spliterator();
+        return stream().spliterator();
+    }
+
+    /**
+     * Streams the collisions in the order they are to be handled.
+     * @return The stream of collisions.
+     */
+    private Stream<Collision> stream() {
+        return collisions.values().stream().flatMap(Set::stream);
     }
 }
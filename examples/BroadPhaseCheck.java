@@ -0,0 +1,176 @@
+package examples;
+
+import collidascope.collidafinda.AdaptiveBroadPhase;
+import collidascope.collidafinda.IBroadPhase;
+import collidascope.collidafinda.SpatialGrid;
+import collidascope.collidafinda.SweepAndPrune;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Checks the broad phases against a brute force search over random boxes
+ * which are added, moved, removed, and re-added between searches. Run it
+ * after changing a broad phase; it throws on the first failing search.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class BroadPhaseCheck {
+    /**
+     * The number of slots the boxes are given.
+     */
+    private static final int SLOTS = 600;
+
+    public static void main(String... args) {
+        gridMatchesBruteForce();
+        sweepMatchesBruteForce();
+        adaptiveMatchesBruteForceWhileSwitching();
+        System.out.println("All broad phase checks passed.");
+    }
+
+    /**
+     * The grid finds every overlapping pair exactly once while its cell
+     * size changes between searches.
+     */
+    private static void gridMatchesBruteForce() {
+        Random random = new Random(3);
+        SpatialGrid grid = new SpatialGrid(20);
+        Boxes boxes = new Boxes();
+        for (int round = 0; round < 50; round++) {
+            boxes.churn(grid, random, random.nextInt(4) == 0);
+            grid.setCellSize(5 + random.nextInt(60));
+            boxes.check(grid, "grid round " + round);
+        }
+    }
+
+    /**
+     * Sweep and prune finds every overlapping pair exactly once, including
+     * after the large batches of additions which make it re-sort.
+     */
+    private static void sweepMatchesBruteForce() {
+        Random random = new Random(5);
+        SweepAndPrune sweep = new SweepAndPrune();
+        Boxes boxes = new Boxes();
+        for (int round = 0; round < 50; round++) {
+            boxes.churn(sweep, random, random.nextInt(4) == 0);
+            boxes.check(sweep, "sweep round " + round);
+        }
+    }
+
+    /**
+     * The adaptive broad phase finds every overlapping pair exactly once
+     * as the box sizes alternate between even and mixed, forcing switches
+     * both ways. Boxes are moved, removed, and re-added while colliders
+     * are being migrated between the structures.
+     */
+    private static void adaptiveMatchesBruteForceWhileSwitching() {
+        Random random = new Random(7);
+        AdaptiveBroadPhase adaptive = new AdaptiveBroadPhase(3);
+        Boxes boxes = new Boxes();
+        int toSweep = 0, toGrid = 0, searchesWhileSwitching = 0;
+        IBroadPhase active = adaptive.getActive();
+        for (int round = 0; round < 200; round++) {
+            boxes.churn(adaptive, random, round / 40 % 2 == 1);
+            if (adaptive.isSwitching())
+                searchesWhileSwitching++;
+            boxes.check(adaptive, "adaptive round " + round);
+            if (adaptive.getActive() != active) {
+                active = adaptive.getActive();
+                if (active instanceof SweepAndPrune)
+                    toSweep++;
+                else
+                    toGrid++;
+            }
+        }
+        check(toSweep > 0 && toGrid > 0, "adaptive switches both ways");
+        check(searchesWhileSwitching > 0, "adaptive searches while switching");
+    }
+
+    /**
+     * Throws when the condition does not hold.
+     * @param condition The condition.
+     * @param description What the condition checks.
+     */
+    private static void check(boolean condition, String description) {
+        if (!condition)
+            throw new IllegalStateException("Check failed: " + description);
+    }
+
+    /**
+     * Random boxes by slot mirrored into a broad phase.
+     */
+    private static class Boxes {
+        private final double[][] bounds = new double[SLOTS][];
+        private final boolean[] added = new boolean[SLOTS];
+
+        /**
+         * Adds, moves, and removes boxes at random; some removed slots
+         * are re-added before the next search.
+         * @param broadPhase The broad phase.
+         * @param random The source of the boxes.
+         * @param large Are some boxes many cells wide?
+         */
+        private void churn(IBroadPhase broadPhase, Random random, boolean large) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                double x = random.nextDouble() * 500 - 250, y = random.nextDouble() * 500;
+                double size = random.nextDouble() * (large && random.nextInt(5) == 0 ? 200 : 15);
+                double[] box = { x, y, x + size, y + size * 0.8 };
+                if (!added[slot]) {
+                    if (random.nextBoolean())
+                        add(broadPhase, slot, box);
+                } else if (random.nextInt(5) == 0) {
+                    broadPhase.remove(slot);
+                    added[slot] = false;
+                    if (random.nextBoolean())
+                        add(broadPhase, slot, box);
+                } else {
+                    broadPhase.update(slot, box[0], box[1], box[2], box[3]);
+                    bounds[slot] = box;
+                }
+            }
+        }
+
+        private void add(IBroadPhase broadPhase, int slot, double[] box) {
+            broadPhase.add(slot, box[0], box[1], box[2], box[3]);
+            added[slot] = true;
+            bounds[slot] = box;
+        }
+
+        /**
+         * Checks the broad phase finds exactly the overlapping pairs, each
+         * once.
+         * @param broadPhase The broad phase.
+         * @param description The search checked.
+         */
+        private void check(IBroadPhase broadPhase, String description) {
+            Set<Long> found = new HashSet<>();
+            boolean[] repeated = { false };
+            broadPhase.findPairs((a, b) -> {
+                if (!found.add(key(a, b)))
+                    repeated[0] = true;
+            });
+            Set<Long> expected = new HashSet<>();
+            int size = 0;
+            for (int a = 0; a < SLOTS; a++) {
+                if (!added[a])
+                    continue;
+                size++;
+                for (int b = a + 1; b < SLOTS; b++)
+                    if (added[b] && overlap(bounds[a], bounds[b]))
+                        expected.add(key(a, b));
+            }
+            BroadPhaseCheck.check(!repeated[0], description + ": no pair is repeated");
+            BroadPhaseCheck.check(found.equals(expected), description + ": the overlapping pairs are found");
+            BroadPhaseCheck.check(broadPhase.size() == size, description + ": the size is the boxes added");
+        }
+
+        private static boolean overlap(double[] a, double[] b) {
+            return a[0] < b[2] && b[0] < a[2] && a[1] < b[3] && b[1] < a[3];
+        }
+
+        private static long key(int a, int b) {
+            return (long) Math.min(a, b) * SLOTS + Math.max(a, b);
+        }
+    }
+}
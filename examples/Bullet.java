@@ -0,0 +1,58 @@
+package examples;
+
+import java.awt.geom.Point2D;
+
+/**
+ * A bullet which flies in a straight line until it expires. Used in
+ * quantity by @see StressTest.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class Bullet
+extends GameObject {
+
+    /**
+     * The key used in collision detection, tracking, and resolution.
+     */
+    public static final String COLLISION_KEY = "Bullet";
+    /**
+     * The velocity of the bullet per tick.
+     */
+    private final double dx, dy;
+    /**
+     * The number of ticks left before the bullet expires.
+     */
+    private int lifetime;
+
+    /**
+     * Constructs the bullet at the given location, size, and velocity.
+     * @param location The initial location of the bullet.
+     * @param size The size of the bullet.
+     * @param dx The x velocity per tick.
+     * @param dy The y velocity per tick.
+     * @param lifetime The number of ticks before the bullet expires.
+     */
+    public Bullet(Point2D.Double location, int size, double dx, double dy, int lifetime) {
+        super(location, size);
+        this.dx = dx;
+        this.dy = dy;
+        this.lifetime = lifetime;
+    }
+
+    @Override
+    public void update() {
+        lifetime--;
+        moveTo(getLocation().getX() + dx, getLocation().getY() + dy);
+    }
+
+    /**
+     * Determines if the bullet has expired and should be removed.
+     * @return Has it expired?
+     */
+    public boolean isExpired() { return lifetime <= 0; }
+
+    @Override
+    public String getCollisionKey() {
+        return COLLISION_KEY;
+    }
+}
@@ -0,0 +1,152 @@
+package examples;
+
+import collidascope.Collider;
+import collidascope.ICollider;
+import collidascope.ICompoundCollider;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Checks compound colliders are descended into only when their bounding
+ * shapes overlap and that handlers are given the part which was hit. Run
+ * it after changing compound detection in @see Collider; it throws on the
+ * first failing case.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class CompoundCheck {
+    public static void main(String... args) {
+        handlersReceiveTheHitPart();
+        partsAreSkippedOutsideTheBounds();
+        nestedPartsAreDescendedInto();
+        System.out.println("All compound checks passed.");
+    }
+
+    /**
+     * Only the turret overlapping the rock is handled, and the handler is
+     * given the turret rather than the ship.
+     */
+    private static void handlersReceiveTheHitPart() {
+        Collider collider = new Collider();
+        Part left = new Part("Turret", new Rectangle(10, 10, 10, 10));
+        Part right = new Part("Turret", new Rectangle(80, 10, 10, 10));
+        Ship ship = new Ship(new Rectangle(0, 0, 100, 100), left, right);
+        Part rock = new Part("Rock", new Rectangle(15, 15, 5, 5));
+        List<ICollider> hits = new ArrayList<>();
+        left.addFunctions("TurretRock", (a, b) -> hits.add(a));
+        right.addFunctions("TurretRock", (a, b) -> hits.add(a));
+        collider.register(ship);
+        collider.register(rock);
+        collider.step();
+        check(hits.size() == 1 && hits.get(0) == left, "the handler is given the turret hit");
+        check(collider.detectedCollision(ship, rock), "the ship collides through its turret");
+        check(!collider.detectedCollision(right, rock), "the other turret does not collide");
+    }
+
+    /**
+     * The parts are not tested when the compound's bounding shape does not
+     * overlap the other collider, even though a part's detector would
+     * report a collision.
+     */
+    private static void partsAreSkippedOutsideTheBounds() {
+        Collider collider = new Collider();
+        int[] tested = { 0 };
+        Part turret = new Part("Turret", new Rectangle(10, 10, 10, 10));
+        turret.detectors.put("TurretRock", (a, b) -> {
+            tested[0]++;
+            return true;
+        });
+        Ship ship = new Ship(new Rectangle(0, 0, 100, 100), turret);
+        Part rock = new Part("Rock", new Rectangle(500, 500, 5, 5));
+        collider.register(ship);
+        collider.register(rock);
+        check(!collider.detectedCollision(ship, rock), "a distant rock does not collide");
+        check(collider.detectCollisions(ship, rock, 5) == 0, "no collision is tracked");
+        check(tested[0] == 0, "the turret is not tested");
+    }
+
+    /**
+     * The parts of a compound part are descended into, and their handlers
+     * added when the outermost compound is registered.
+     */
+    private static void nestedPartsAreDescendedInto() {
+        Collider collider = new Collider();
+        Part barrel = new Part("Barrel", new Rectangle(12, 12, 4, 4));
+        Ship turret = new Ship(new Rectangle(10, 10, 10, 10), barrel);
+        Ship ship = new Ship(new Rectangle(0, 0, 100, 100), turret);
+        Part rock = new Part("Rock", new Rectangle(13, 13, 2, 2));
+        List<ICollider> hits = new ArrayList<>();
+        barrel.addFunctions("BarrelRock", (a, b) -> hits.add(a));
+        collider.register(ship);
+        collider.register(rock);
+        collider.step();
+        check(hits.size() == 1 && hits.get(0) == barrel, "the handler is given the barrel hit");
+    }
+
+    /**
+     * Throws when the condition does not hold.
+     * @param condition The condition.
+     * @param description What the condition checks.
+     */
+    private static void check(boolean condition, String description) {
+        if (!condition)
+            throw new IllegalStateException("Check failed: " + description);
+    }
+
+    /**
+     * A collider with a rectangle and its own functions.
+     */
+    private static class Part implements ICollider {
+        private final String key;
+        private final Rectangle bounds;
+        private final Map<String, BiConsumer<ICollider, ICollider>> handlers = new HashMap<>();
+        private final Map<String, BiFunction<ICollider, ICollider, Boolean>> detectors = new HashMap<>();
+
+        private Part(String key, Rectangle bounds) {
+            this.key = key;
+            this.bounds = bounds;
+        }
+
+        /**
+         * Maps the handler and a rectangle intersection test to the key.
+         */
+        private void addFunctions(String key, BiConsumer<ICollider, ICollider> handler) {
+            handlers.put(key, handler);
+            detectors.put(key, (a, b) -> a.getBoundingShape().intersects(b.getBoundingShape().getBounds2D()));
+        }
+
+        @Override
+        public String getCollisionKey() { return key; }
+
+        @Override
+        public Shape getBoundingShape() { return bounds; }
+
+        @Override
+        public Map<String, BiConsumer<ICollider, ICollider>> getHandlers() { return handlers; }
+
+        @Override
+        public Map<String, BiFunction<ICollider, ICollider, Boolean>> getDetectors() { return detectors; }
+    }
+
+    /**
+     * A compound collider whose bounds enclose its parts.
+     */
+    private static class Ship extends Part implements ICompoundCollider {
+        private final List<ICollider> parts = new ArrayList<>();
+
+        private Ship(Rectangle bounds, ICollider... parts) {
+            super("Ship", bounds);
+            for (ICollider part : parts)
+                this.parts.add(part);
+        }
+
+        @Override
+        public List<ICollider> getParts() { return parts; }
+    }
+}
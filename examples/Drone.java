@@ -0,0 +1,58 @@
+package examples;
+
+import java.awt.geom.Point2D;
+
+/**
+ * A drone which drifts about the game world at a constant velocity,
+ * bouncing off its edges. Used in quantity by @see StressTest.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class Drone
+extends GameObject {
+
+    /**
+     * The key used in collision detection, tracking, and resolution.
+     */
+    public static final String COLLISION_KEY = "Drone";
+    /**
+     * The velocity of the drone per tick.
+     */
+    private double dx, dy;
+    /**
+     * The width and height of the game world.
+     */
+    private final double worldSize;
+
+    /**
+     * Constructs the drone at the given location, size, and velocity.
+     * @param location The initial location of the drone.
+     * @param size The size of the drone.
+     * @param dx The x velocity per tick.
+     * @param dy The y velocity per tick.
+     * @param worldSize The width and height of the game world.
+     */
+    public Drone(Point2D.Double location, int size, double dx, double dy, double worldSize) {
+        super(location, size);
+        this.dx = dx;
+        this.dy = dy;
+        this.worldSize = worldSize;
+    }
+
+    @Override
+    public void update() {
+        double x = getLocation().getX() + dx;
+        double y = getLocation().getY() + dy;
+        if (x < 0 || x + getSize() > worldSize)
+            dx = -dx;
+        if (y < 0 || y + getSize() > worldSize)
+            dy = -dy;
+        moveTo(Math.max(0, Math.min(x, worldSize - getSize())),
+          Math.max(0, Math.min(y, worldSize - getSize())));
+    }
+
+    @Override
+    public String getCollisionKey() {
+        return COLLISION_KEY;
+    }
+}
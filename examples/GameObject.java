@@ -27,7 +27,11 @@ implements ICollider {
     /**
      * The bounding shape used in collision detection.
      */
-    private Shape boundingShape;
+    private Rectangle boundingShape;
+    /**
+     * The version of the bounding shape, advanced on each move.
+     */
+    private long boundsVersion;
     /**
      * The detector functions for the game object.
      */
@@ -40,6 +44,11 @@ implements ICollider {
      * The point of location of the GameObject.
      */
     private Point2D.Double location;
+    /**
+     * The handle given when the game object was registered with the
+     * collider; -1 when it is not registered.
+     */
+    private int handle = -1;
 
     /**
      * Constructs the game object at a arbitrary default
@@ -84,12 +93,38 @@ implements ICollider {
         return location;
     }
 
+    /**
+     * Moves the game object, and its bounding shape, to the given
+     * location.
+     * @param x The new x coordinate.
+     * @param y The new y coordinate.
+     */
+    public void moveTo(double x, double y) {
+        location.setLocation(x, y);
+        boundingShape.setLocation((int) x, (int) y);
+        boundsVersion++;
+    }
+
     /**
      * Returns the size of the game object.
      * @return The size.
      */
     public int getSize() { return SIZE; }
 
+    /**
+     * Returns the handle given when the game object was registered with
+     * the collider.
+     * @return The handle or -1 when it is not registered.
+     */
+    public int getHandle() { return handle; }
+
+    /**
+     * Sets the handle given when the game object was registered with the
+     * collider.
+     * @param handle The handle or -1 when it is unregistered.
+     */
+    public void setHandle(int handle) { this.handle = handle; }
+
     /**
      * Maps the key and handler in the collision handler.
      * @param key The key to map the handler to.
@@ -122,4 +157,9 @@ implements ICollider {
     public Shape getBoundingShape() {
         return boundingShape;
     }
+
+    @Override
+    public long getBoundsVersion() {
+        return boundsVersion;
+    }
 }
@@ -1,10 +1,9 @@
 package examples;
 
 import collidascope.Collider;
-import collidascope.Collision;
-import collidascope.ICollider;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Simple game world to use in a game.
@@ -16,7 +15,7 @@ public class GameWorld {
      * Enumerated game object types used in the game.
      */
     enum GameObjectType {
-        FRIEND, ENEMY
+        FRIEND, ENEMY, DRONE, BULLET
     }
 
     /**
@@ -33,55 +32,94 @@ public class GameWorld {
      * Constructs the game world and initializes it.
      */
     public GameWorld() {
-        collider = new Collider();
-        gameObjects = new HashMap<>();
+        this(new Collider());
         initialize();
     }
 
     /**
-     * Initializes the game world to its beginning state.
+     * Constructs an empty game world using the given collider.
+     * @param collider The collider.
      */
-    public void initialize() {
+    public GameWorld(Collider collider) {
+        this.collider = collider;
+        gameObjects = new HashMap<>();
         for (GameObjectType type : GameObjectType.values())
             gameObjects.put(type, new ArrayList<>());
-        Friend f = new Friend();
-        Enemy e = new Enemy();
+    }
 
-        gameObjects.get(GameObjectType.FRIEND)
-          .add(f);
-        collider.addHandlers(f.getHandlers());
-        collider.addDetectors(f.getDetectors());
+    /**
+     * Initializes the game world to its beginning state. Any game objects
+     * already in the game are removed and unregistered from the collider.
+     */
+    public void initialize() {
+        for (List<GameObject> objects : gameObjects.values()) {
+            objects.forEach(this::unregister);
+            objects.clear();
+        }
+        add(GameObjectType.FRIEND, new Friend());
+        add(GameObjectType.ENEMY, new Enemy());
+    }
 
-        gameObjects.get(GameObjectType.ENEMY)
-          .add(e);
-        collider.addHandlers(e.getHandlers());
-        collider.addDetectors(e.getDetectors());
+    /**
+     * Adds the game object to the game and registers it with the collider.
+     * @param type The type of the game object.
+     * @param gameObject The game object.
+     */
+    public void add(GameObjectType type, GameObject gameObject) {
+        gameObjects.get(type).add(gameObject);
+        gameObject.setHandle(collider.register(gameObject));
     }
 
     /**
-     * Advances the game clock by one "tick".
+     * Removes the game object from the game and unregisters it from the
+     * collider.
+     * @param type The type of the game object.
+     * @param gameObject The game object.
      */
-    public void tick() {
-        for (List<GameObject> gol : gameObjects.values())
-            gol.forEach(GameObject::update);
-        checkCollisions();
-        collider.handleCollisions();
+    public void remove(GameObjectType type, GameObject gameObject) {
+        if (gameObjects.get(type).remove(gameObject))
+            unregister(gameObject);
     }
 
     /**
-     * Checks the current game objects for collisions.
+     * Removes the game objects of the given type which match the filter
+     * and unregisters them from the collider.
+     * @param type The type of the game objects.
+     * @param filter The filter selecting the game objects to remove.
      */
-    private void checkCollisions() {
-        Iterator<GameObject> friends = gameObjects.get(GameObjectType.FRIEND).iterator();
-        Iterator<GameObject> enemies = gameObjects.get(GameObjectType.ENEMY).iterator();
-        while (friends.hasNext()) {
-            ICollider one = friends.next();
-            while (enemies.hasNext()) {
-                ICollider theOther = enemies.next();
-                if (collider.detectedCollision(one, theOther)) {
-                    collider.trackCollision(new Collision(one, theOther, 0));
-                }
-            }
-        }
+    public void removeIf(GameObjectType type, Predicate<GameObject> filter) {
+        gameObjects.get(type).removeIf(gameObject -> {
+            if (!filter.test(gameObject))
+                return false;
+            unregister(gameObject);
+            return true;
+        });
+    }
+
+    /**
+     * Unregisters the game object from the collider.
+     * @param gameObject The game object.
+     */
+    private void unregister(GameObject gameObject) {
+        collider.unregister(gameObject.getHandle());
+        gameObject.setHandle(-1);
+    }
+
+    /**
+     * Returns the game objects of the given type.
+     * @param type The type of the game objects.
+     * @return The game objects.
+     */
+    public List<GameObject> getGameObjects(GameObjectType type) {
+        return gameObjects.get(type);
+    }
+
+    /**
+     * Advances the game clock by one "tick".
+     */
+    public void tick() {
+        for (List<GameObject> gol : gameObjects.values())
+            gol.forEach(GameObject::update);
+        collider.step();
     }
 }
@@ -0,0 +1,81 @@
+package examples;
+
+import collidascope.collidadetecta.Contact;
+import collidascope.collidadetecta.NarrowPhase;
+import collidascope.collidadetecta.ShapeDetector;
+
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+
+/**
+ * Checks cases the built-in narrow phase has got wrong before. Run it
+ * after changing @see NarrowPhase or @see
+ * collidascope.collidadetecta.ShapeDetector; it throws on the first
+ * failing case.
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class NarrowPhaseCheck {
+    public static void main(String... args) {
+        clipsBothEndsOfIncidentEdge();
+        degenerateShapesAgree();
+        System.out.println("All narrow phase checks passed.");
+    }
+
+    /**
+     * An incident edge extending past both ends of the reference edge is
+     * clipped at each end from its original endpoints.
+     */
+    private static void clipsBothEndsOfIncidentEdge() {
+        double[] box = { 0, 0, 1, 0, 1, 1, 0, 1 };
+        double[] wide = { -5, 0.9, 5, 0.9, 5, 10, -5, 10 };
+        Contact contact = new Contact();
+        check(NarrowPhase.polygons(box, 4, wide, 4, contact), "wide box collides");
+        check(contact.getPointCount() == 2, "two contact points");
+        check(hasPoint(contact, 0, 0.9) && hasPoint(contact, 1, 0.9),
+          "contact points (0, 0.9) and (1, 0.9)");
+    }
+
+    /**
+     * Empty and zero size shapes collide with nothing, whether or not the
+     * contact is computed.
+     */
+    private static void degenerateShapesAgree() {
+        Shape circle = new Ellipse2D.Double(0, 0, 10, 10);
+        Shape triangle = new Polygon(new int[] { 0, 10, 0 }, new int[] { 0, 0, 10 }, 3);
+        Shape[][] pairs = {
+          { new Path2D.Double(), circle },
+          { circle, new Path2D.Double() },
+          { new Polygon(), new Polygon() },
+          { new Polygon(), triangle },
+          { new Rectangle(2, 2, 0, 0), triangle }
+        };
+        for (Shape[] pair : pairs) {
+            check(!ShapeDetector.intersects(pair[0], pair[1]), "degenerate shapes do not collide");
+            check(!ShapeDetector.intersects(pair[0], pair[1], new Contact()),
+              "degenerate shapes do not collide with a contact");
+        }
+    }
+
+    /**
+     * Determines if the contact has a point at the given coordinates.
+     * @return Does it have the point?
+     */
+    private static boolean hasPoint(Contact contact, double x, double y) {
+        for (int i = 0; i < contact.getPointCount(); i++)
+            if (Math.abs(contact.getPointX(i) - x) < 1e-9 && Math.abs(contact.getPointY(i) - y) < 1e-9)
+                return true;
+        return false;
+    }
+
+    /**
+     * Throws when the condition does not hold.
+     * @param condition The condition.
+     * @param description What the condition checks.
+     */
+    private static void check(boolean condition, String description) {
+        if (!condition)
+            throw new IllegalStateException("Check failed: " + description);
+    }
+}
@@ -0,0 +1,250 @@
+package examples;
+
+import collidascope.Collider;
+import collidascope.ICollider;
+import collidascope.collidadetecta.ShapeDetector;
+import collidascope.collidafinda.AdaptiveBroadPhase;
+import collidascope.collidafinda.SweepAndPrune;
+
+import java.awt.geom.Point2D;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+/**
+ * A headless load test of ColliDaScope. It populates a @see GameWorld
+ * with many game objects, runs it for a fixed number of ticks, and
+ * reports the ticks per second, the median and 99th percentile tick
+ * latency, the collisions per second, and the bytes allocated per tick.
+ *
+ * Usage: StressTest [population] [count] [ticks] [warmup] [threads] [broad phase]
+ * <ul>
+ *     <li>population: uniform, clustered, or bullet-hell (uniform)</li>
+ *     <li>count: the number of game objects (5000)</li>
+ *     <li>ticks: the number of measured ticks (500)</li>
+ *     <li>warmup: the number of ticks run before measuring (200)</li>
+ *     <li>threads: the detection threads when pipelined; 0 steps
+ *         sequentially (0)</li>
+ *     <li>broad phase: grid, sweep, or adaptive (grid)</li>
+ * </ul>
+ * @author Robert Wilk
+ *         Created on 10/19/2026.
+ */
+public class StressTest {
+    /**
+     * The area of the world per game object so the density is the same
+     * for any count.
+     */
+    private static final double AREA_PER_OBJECT = 40 * 40;
+    /**
+     * The number of ticks a bullet lives in the bullet-hell population.
+     */
+    private static final int BULLET_LIFETIME = 100;
+
+    /**
+     * The kinds of population the world can be filled with.
+     */
+    enum Population {
+        /**
+         * Drones spread evenly over the world.
+         */
+        UNIFORM,
+        /**
+         * Drones gathered into a few dense clusters.
+         */
+        CLUSTERED,
+        /**
+         * A few large ships firing streams of short lived bullets.
+         */
+        BULLET_HELL
+    }
+
+    /**
+     * The world under test.
+     */
+    private GameWorld world;
+    /**
+     * The population of the world.
+     */
+    private Population population;
+    /**
+     * The number of game objects.
+     */
+    private int count;
+    /**
+     * The width and height of the world.
+     */
+    private double worldSize;
+    /**
+     * The source of the world's randomness, seeded so runs repeat.
+     */
+    private Random random;
+    /**
+     * The number of collisions handled.
+     */
+    private long collisions;
+
+    /**
+     * Constructs the load test and populates its world.
+     * @param population The population of the world.
+     * @param count The number of game objects.
+     * @param collider The collider used by the world.
+     */
+    public StressTest(Population population, int count, Collider collider) {
+        this.population = population;
+        this.count = count;
+        worldSize = Math.sqrt(count * AREA_PER_OBJECT);
+        random = new Random(42);
+        world = new GameWorld(collider);
+        collider.setDefaultDetector(new ShapeDetector());
+        BiConsumer<ICollider, ICollider> counter = (a, b) -> collisions++;
+        Map<String, BiConsumer<ICollider, ICollider>> handlers = new HashMap<>();
+        for (String a : new String[] { Drone.COLLISION_KEY, Bullet.COLLISION_KEY })
+            for (String b : new String[] { Drone.COLLISION_KEY, Bullet.COLLISION_KEY })
+                handlers.put(a + b, counter);
+        collider.addHandlers(handlers);
+        populate();
+    }
+
+    /**
+     * Fills the world with its population.
+     */
+    private void populate() {
+        switch (population) {
+            case UNIFORM:
+                for (int i = 0; i < count; i++)
+                    addDrone(random.nextDouble() * worldSize, random.nextDouble() * worldSize, 8 + random.nextInt(24));
+                break;
+            case CLUSTERED:
+                double[] centers = new double[2 * 8];
+                for (int i = 0; i < centers.length; i++)
+                    centers[i] = random.nextDouble() * worldSize;
+                for (int i = 0; i < count; i++) {
+                    int c = random.nextInt(centers.length / 2);
+                    addDrone(centers[2 * c] + random.nextGaussian() * worldSize / 40,
+                      centers[2 * c + 1] + random.nextGaussian() * worldSize / 40, 8 + random.nextInt(24));
+                }
+                break;
+            case BULLET_HELL:
+                for (int i = 0; i < Math.max(1, count / 50); i++)
+                    addDrone(random.nextDouble() * worldSize, random.nextDouble() * worldSize, 48);
+                break;
+        }
+    }
+
+    /**
+     * Adds a slowly drifting drone to the world.
+     * @param x The x of the drone.
+     * @param y The y of the drone.
+     * @param size The size of the drone.
+     */
+    private void addDrone(double x, double y, int size) {
+        x = Math.max(0, Math.min(x, worldSize - size));
+        y = Math.max(0, Math.min(y, worldSize - size));
+        world.add(GameWorld.GameObjectType.DRONE, new Drone(new Point2D.Double(x, y), size,
+          random.nextDouble() * 2 - 1, random.nextDouble() * 2 - 1, worldSize));
+    }
+
+    /**
+     * Advances the world by one tick. In the bullet-hell population the
+     * ships fire new bullets and the expired ones are removed, so
+     * colliders are registered and unregistered each tick.
+     */
+    public void tick() {
+        if (population == Population.BULLET_HELL) {
+            world.removeIf(GameWorld.GameObjectType.BULLET, gameObject -> ((Bullet) gameObject).isExpired());
+            List<GameObject> ships = world.getGameObjects(GameWorld.GameObjectType.DRONE);
+            for (int i = 0; i < count / BULLET_LIFETIME; i++) {
+                GameObject ship = ships.get(random.nextInt(ships.size()));
+                double angle = random.nextDouble() * 2 * Math.PI;
+                world.add(GameWorld.GameObjectType.BULLET, new Bullet(
+                  new Point2D.Double(ship.getLocation().getX() + ship.getSize() / 2,
+                    ship.getLocation().getY() + ship.getSize() / 2),
+                  4, 4 * Math.cos(angle), 4 * Math.sin(angle), BULLET_LIFETIME));
+            }
+        }
+        world.tick();
+    }
+
+    /**
+     * Runs the world for the given number of ticks and prints the report.
+     * @param warmup The number of ticks run before measuring.
+     * @param ticks The number of ticks measured.
+     */
+    public void run(int warmup, int ticks) {
+        for (int i = 0; i < warmup; i++)
+            tick();
+        collisions = 0;
+        long[] latencies = new long[ticks];
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ticks; i++) {
+            long tickStart = System.nanoTime();
+            tick();
+            latencies[i] = System.nanoTime() - tickStart;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        allocated = allocatedBytes() - allocated;
+        Arrays.sort(latencies);
+
+        System.out.printf("population=%s colliders=%d ticks=%d broad-phase=%s%n",
+          population.name().toLowerCase().replace('_', '-'), world.collider.getColliderCount(), ticks,
+          world.collider.getBroadPhase());
+        System.out.printf("ticks/sec=%.1f p50=%.3fms p99=%.3fms%n", ticks / seconds,
+          latencies[ticks / 2] / 1e6, latencies[Math.max(0, (int) Math.ceil(ticks * 0.99) - 1)] / 1e6);
+        System.out.printf("collisions/sec=%.0f allocated/tick=%s%n", collisions / seconds,
+          allocated < 0 ? "n/a" : String.format("%.0fB", (double) allocated / ticks));
+    }
+
+    /**
+     * Returns the bytes allocated so far by all live threads, when the
+     * virtual machine supports measuring it.
+     * @return The bytes allocated or -1 when unsupported.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+            return -1;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled())
+            return -1;
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds()))
+            total += Math.max(0, bytes);
+        return total;
+    }
+
+    public static void main(String... args) {
+        Population population = args.length > 0
+          ? Population.valueOf(args[0].toUpperCase().replace('-', '_')) : Population.UNIFORM;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        String broadPhase = args.length > 5 ? args[5] : "grid";
+
+        Collider collider = new Collider();
+        if (broadPhase.equals("sweep"))
+            collider.setBroadPhase(new SweepAndPrune());
+        else if (broadPhase.equals("adaptive"))
+            collider.setBroadPhase(new AdaptiveBroadPhase());
+        ExecutorService executor = null;
+        if (threads > 0) {
+            executor = Executors.newFixedThreadPool(threads);
+            collider.enablePipelining(executor, threads);
+        }
+        try {
+            new StressTest(population, count, collider).run(warmup, ticks);
+        } finally {
+            if (executor != null)
+                executor.shutdown();
+        }
+    }
+}